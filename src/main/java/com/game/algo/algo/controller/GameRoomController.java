@@ -4,6 +4,7 @@ import com.game.algo.algo.dto.request.GameRoomCreate;
 import com.game.algo.algo.dto.response.*;
 import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
+import com.game.algo.algo.service.CommandDeduplicator;
 import com.game.algo.algo.service.GameRoomService;
 import com.game.algo.algo.service.PlayerService;
 import com.game.algo.global.dto.ResponseData;
@@ -28,6 +29,7 @@ public class GameRoomController {
 
     private final PlayerService playerService;
     private final GameRoomService gameRoomService;
+    private final CommandDeduplicator commandDeduplicator;
 
     @PostMapping("")
     public ResponseEntity createAndJoinGameRoom(@RequestHeader("Session-Id") String sessionId,
@@ -61,29 +63,43 @@ public class GameRoomController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * over 시리즈는 Command-Id 헤더가 있으면 재시도된 요청을 다시 실행하지 않고 처음 결과로 응답한다.
+     */
     @PostMapping("/{id}/over/setting")
     public ResponseEntity overSettingPhase(@RequestHeader("Session-Id") String sessionId,
-                                           @PathVariable("id") Long gameRoomId) {
+                                           @PathVariable("id") Long gameRoomId,
+                                           @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endSettingPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endSettingPhase(gameRoomId, sessionId);
+            return null;
+        });
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/start")
     public ResponseEntity overStartPhase(@RequestHeader("Session-Id") String sessionId,
-                                         @PathVariable("id") Long gameRoomId) {
+                                         @PathVariable("id") Long gameRoomId,
+                                         @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endStartPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endStartPhase(gameRoomId, sessionId);
+            return null;
+        });
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/draw")
     public ResponseEntity overDrawPhase(@RequestHeader("Session-Id") String sessionId,
-                              @PathVariable("id") Long gameRoomId) {
+                              @PathVariable("id") Long gameRoomId,
+                              @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endDrawPhase(gameRoomId, sessionId);
-        DrawBlockData drawBlockData = DrawBlockData.from(playerService.findByWebSocketSessionId(sessionId));
+        DrawBlockData drawBlockData = commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endDrawPhase(gameRoomId, sessionId);
+            return DrawBlockData.from(playerService.findByWebSocketSessionId(sessionId));
+        });
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ResponseData.create(200, drawBlockData));
@@ -91,44 +107,64 @@ public class GameRoomController {
 
     @PostMapping("/{id}/over/sort")
     public ResponseEntity overSortPhase(@RequestHeader("Session-Id") String sessionId,
-                                        @PathVariable("id") Long gameRoomId) {
+                                        @PathVariable("id") Long gameRoomId,
+                                        @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endSortPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endSortPhase(gameRoomId, sessionId);
+            return null;
+        });
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/guess")
     public ResponseEntity overGuessPhase(@RequestHeader("Session-Id") String sessionId,
-                                        @PathVariable("id") Long gameRoomId) {
+                                        @PathVariable("id") Long gameRoomId,
+                                        @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endGuessPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endGuessPhase(gameRoomId, sessionId);
+            return null;
+        });
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/repeat")
     public ResponseEntity overRepeatPhase(@RequestHeader("Session-Id") String sessionId,
-                                         @PathVariable("id") Long gameRoomId) {
+                                         @PathVariable("id") Long gameRoomId,
+                                         @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endRepeatPhase(gameRoomId, sessionId, false);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endRepeatPhase(gameRoomId, sessionId, false);
+            return null;
+        });
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/end")
     public ResponseEntity overEndPhase(@RequestHeader("Session-Id") String sessionId,
-                             @PathVariable("id") Long gameRoomId) {
+                             @PathVariable("id") Long gameRoomId,
+                             @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endEndPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endEndPhase(gameRoomId, sessionId);
+            return null;
+        });
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
     @PostMapping("/{id}/over/gameover")
     public ResponseEntity overGameOverPhase(@RequestHeader("Session-Id") String sessionId,
-                                            @PathVariable("id") Long gameRoomId) {
+                                            @PathVariable("id") Long gameRoomId,
+                                            @RequestHeader(value = "Command-Id", required = false) String commandId) {
 
-        gameRoomService.endGameOverPhase(gameRoomId, sessionId);
+        commandDeduplicator.execute(gameRoomId, sessionId, commandId, () -> {
+            gameRoomService.endGameOverPhase(gameRoomId, sessionId);
+            return null;
+        });
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
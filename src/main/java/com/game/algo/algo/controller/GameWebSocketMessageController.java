@@ -5,18 +5,19 @@ import com.game.algo.algo.dto.request.*;
 import com.game.algo.algo.dto.response.*;
 import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
+import com.game.algo.algo.exception.GameExceptionCode;
+import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.algo.service.GameService;
+import com.game.algo.algo.service.GameStatusSequencer;
 import com.game.algo.websocket.data.MessageType;
 import com.game.algo.websocket.dto.MessageDataResponse;
+import com.game.algo.websocket.service.SessionResumeManager;
 import com.game.algo.websocket.service.WebSocketService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 
 @Slf4j
 @Component
@@ -24,14 +25,16 @@ import java.util.stream.Collectors;
 public class GameWebSocketMessageController {
 
     private final GameService gameService;
+    private final GameStatusSequencer gameStatusSequencer;
     private final WebSocketService webSocketService;
+    private final SessionResumeManager sessionResumeManager;
 
     // 특별취급
     public void disconnectWebSession(String sessionId){
         Long gameRoomId = gameService.findPlayerByWebSocketSessionId(sessionId).getGameRoom().getId();
         gameService.disconnectWebSession(sessionId);
 
-        sendGameStatusData(gameService.findGameRoomById(gameRoomId));
+        sendGameStatusData(gameRoomId);
     }
 
     public void createPlayer(@NonNull PlayerCreate playerCreate) {
@@ -40,12 +43,41 @@ public class GameWebSocketMessageController {
 
         sendMessage(playerCreate.getSessionId(),
                 MessageDataResponse.create(MessageType.PlayerSimple, playerSimple));
+        sendResumeToken(playerCreate.getSessionId(), playerId);
     }
 
     public void setSessionIdForPlayer(Long playerId, String sessionId) {
         gameService.setSessionIdForPlayer(playerId, sessionId);
 
         sendMessage(sessionId, MessageDataResponse.create(MessageType.SessionId, sessionId));
+        sendResumeToken(sessionId, playerId);
+    }
+
+    /**
+     * 유예 시간 안에 재접속한 세션을 원래 Player 에 다시 연결하고, 놓친 상태를 lastSequence 이후부터 다시 보낸다.
+     * 자기 블럭 정보는 방 단위 버퍼에 없으므로 게임 중이면 OwnerBlockData 를 새로 보낸다.
+     */
+    public void resumeSession(String sessionId, @NonNull SessionResume sessionResume) {
+        Long playerId = sessionResumeManager.resume(sessionResume.getToken(), sessionId)
+                .orElseThrow(() -> new GameLogicException(GameExceptionCode.RESUME_EXPIRED));
+        gameService.setSessionIdForPlayer(playerId, sessionId);
+
+        Player findPlayer = gameService.findPlayerById(playerId);
+        sendMessage(sessionId, MessageDataResponse.create(MessageType.SessionResume, PlayerSimple.from(findPlayer)));
+
+        if (findPlayer.getGameRoom() == null) {
+            return;
+        }
+        Long gameRoomId = findPlayer.getGameRoom().getId();
+
+        gameStatusSequencer.replay(gameService.readGameRoom(gameRoomId, gameStatusSequencer::capture),
+                sessionId, sessionResume.getLastSequence());
+
+        OwnerBlockData ownerBlockData = gameService.readGameRoom(gameRoomId,
+                gameRoom -> gameRoom.isGameStart() ? OwnerBlockData.from(findPlayer) : null);
+        if (ownerBlockData != null) {
+            sendMessage(sessionId, MessageDataResponse.create(MessageType.OwnerBlockData, ownerBlockData));
+        }
     }
 
     public void createGameRoom(@NonNull GameRoomCreate gameRoomCreate) {
@@ -60,9 +92,7 @@ public class GameWebSocketMessageController {
         String sessionId = gameService.findPlayerById(gameRoomJoin.getPlayerId()).getWebSocketSessionId();
         gameService.joinGameRoom(gameRoomJoin.getGameRoomId(), gameRoomJoin.getPlayerId());
 
-        GameRoom findGameRoom = gameService.findGameRoomById(gameRoomJoin.getGameRoomId());
-
-        sendGameStatusData(findGameRoom);
+        sendGameStatusData(gameRoomJoin.getGameRoomId());
         sendMessage(sessionId, MessageDataResponse.create(MessageType.JoinRoomSuccess, ""));
     }
 
@@ -76,24 +106,19 @@ public class GameWebSocketMessageController {
         Long gameRoomId = gameService.findPlayerByWebSocketSessionId(sessionId).getGameRoom().getId();
         gameService.exitGameRoom(sessionId);
 
-        sendGameStatusData(gameService.findGameRoomById(gameRoomId));
+        sendGameStatusData(gameRoomId);
     }
 
     public void updatePlayerReady(@NonNull PlayerReadyUpdate playerReadyUpdate) {
         gameService.updatePlayerReady(playerReadyUpdate.getPlayerId(), playerReadyUpdate.getReady());
 
-        GameRoom findGameRoom = gameService.findGameRoomById(playerReadyUpdate.getGameRoomId());
-
-        sendGameStatusData(findGameRoom);
+        sendGameStatusData(playerReadyUpdate.getGameRoomId());
     }
 
     public void gameStart(@NonNull GameStart gameStart) {
         gameService.gameStart(gameStart.getGameRoomId());
 
-        GameRoom findGameRoom = gameService.findGameRoomById(gameStart.getGameRoomId());
-
-        sendGameStatusData(findGameRoom);
-        sendWaitForSec(findGameRoom);
+        sendPhaseUpdate(gameStart.getGameRoomId(), false, false);
     }
 
     public void drawBlockAtStart(StartBlockDraw startBlockDraw) {
@@ -135,123 +160,87 @@ public class GameWebSocketMessageController {
         }
     }
 
+    public void sendGameStatusSnapshot(String sessionId) {
+        GameRoom findGameRoom = gameService.findPlayerByWebSocketSessionId(sessionId).getGameRoom();
+        if (findGameRoom == null) {
+            return;
+        }
+
+        gameStatusSequencer.sendSnapshot(gameService.readGameRoom(findGameRoom.getId(), gameStatusSequencer::capture), sessionId);
+    }
+
     /** end 시리즈 */
 
     public void endSettingPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.endSettingPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, false, false);
     }
 
     public void endStartPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.autoDrawAtStart(gameRoomId);
         gameService.endStartPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendOwnerBlockData(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, true, false);
     }
 
     public void endDrawPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.autoDrawAtDrawPhase(gameRoomId);
         gameService.endDrawPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendOwnerBlockData(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
-        sendDrawBlockData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, true, true);
     }
 
     public void endSortPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.endSortPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendOwnerBlockData(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, true, false);
     }
 
     public void endGuessPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.endGuessPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, false, false);
     }
 
     public void endRepeatPhase(Long gameRoomId, int progressPlayerNum, boolean repeatGuess) {
         gameService.endRepeatPhase(gameRoomId, progressPlayerNum, repeatGuess);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, false, false);
     }
 
     public void endEndPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.endEndPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendWaitForSec(readOnlyGameRoom);
-        sendGameStatusData(readOnlyGameRoom);
+        sendPhaseUpdate(gameRoomId, false, false);
     }
 
     public void endGameOverPhase(Long gameRoomId, int progressPlayerNum) {
         gameService.endGameOverPhase(gameRoomId, progressPlayerNum);
 
-        GameRoom readOnlyGameRoom = gameService.findGameRoomById(gameRoomId);
-
-        sendGameStatusData(readOnlyGameRoom);
+        sendGameStatusData(gameRoomId);
     }
 
     /** send 시리즈 */
 
-    private void sendGameStatusData(GameRoom gameRoom) {
-        MessageDataResponse messageData = MessageDataResponse.create(MessageType.GameStatusData,
-                GameStatusData.from(gameRoom));
-
-        List<String> sessionIdList = gameRoom.getPlayerList().stream()
-                .map(Player::getWebSocketSessionId)
-                .collect(Collectors.toList());
-
-        sessionIdList.forEach(sid -> sendMessage(sid, messageData));
-    }
-
-    private void sendOwnerBlockData(GameRoom gameRoom) {
-        List<OwnerBlockData> ownerBlockDataList = gameRoom.getPlayerList().stream()
-                .map(OwnerBlockData::from)
-                .collect(Collectors.toList());
-
-        ownerBlockDataList.forEach(ownerBlockData -> sendMessage(ownerBlockData.getSessionId(),
-                MessageDataResponse.create(MessageType.OwnerBlockData, ownerBlockData)));
+    /**
+     * 방의 상태는 메일박스 안에서 복사하고, 비교와 송신은 메일박스 밖에서 한다.
+     */
+    private void sendGameStatusData(Long gameRoomId) {
+        gameStatusSequencer.publish(gameService.readGameRoom(gameRoomId, gameStatusSequencer::capture));
     }
 
-    private void sendWaitForSec(GameRoom gameRoom) {
-        MessageDataResponse messageData = MessageDataResponse.create(MessageType.WaitForSec,
-                gameRoom.getPhase().getWaitTime());
-
-        List<String> sessionIdList = gameRoom.getPlayerList().stream()
-                .map(Player::getWebSocketSessionId)
-                .collect(Collectors.toList());
-
-        sessionIdList.forEach(sid -> sendMessage(sid, messageData));
+    /**
+     * 페이즈 전환 때 플레이어마다 받아야 하는 데이터를 PhaseUpdate 하나로 묶어서 보낸다.
+     */
+    private void sendPhaseUpdate(Long gameRoomId, boolean withOwnerBlockData, boolean withDrawBlockData) {
+        gameStatusSequencer.publishPhaseUpdate(gameService.readGameRoom(gameRoomId,
+                gameRoom -> gameStatusSequencer.capturePhaseUpdate(gameRoom, withOwnerBlockData, withDrawBlockData)));
     }
 
-    private void sendDrawBlockData(GameRoom gameRoom) {
-        DrawBlockData drawBlockData = DrawBlockData.from(gameRoom.getProgressPlayer());
-        MessageDataResponse messageData = MessageDataResponse.create(MessageType.DrawBlockData, drawBlockData);
-
-        sendMessage(drawBlockData.getSessionId(), messageData);
+    private void sendResumeToken(String sessionId, Long playerId) {
+        String token = sessionResumeManager.issue(sessionId, playerId);
+        sendMessage(sessionId, MessageDataResponse.create(MessageType.ResumeToken, token));
     }
 
     private void sendMessage(String sessionId, MessageDataResponse messageData) {
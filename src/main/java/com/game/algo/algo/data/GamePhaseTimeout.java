@@ -0,0 +1,27 @@
+package com.game.algo.algo.data;
+
+import com.game.algo.algo.entity.GameRoom;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder(access = AccessLevel.PROTECTED)
+public class GamePhaseTimeout {
+
+    private Long gameRoomId;
+
+    private GameRoom.Phase phase;
+
+    private long phaseSequence; // 같은 페이즈가 다시 돌아온 경우 이전 타이머와 구분하기 위함
+
+    public static GamePhaseTimeout create(Long gameRoomId, GameRoom.Phase phase, long phaseSequence) {
+        return GamePhaseTimeout.builder()
+                .gameRoomId(gameRoomId)
+                .phase(phase)
+                .phaseSequence(phaseSequence)
+                .build();
+    }
+}
@@ -21,6 +21,8 @@ public class GameProperty {
 
     public static final int FIND_GAME_ROOM_SIZE = 60;
 
+    public static final long PHASE_TIMEOUT_GRACE_MILLIS = 2000; // 클라이언트 카운트다운 + 네트워크 지연 여유
+
     public static int numberOfBlockAtStart(int playerCount) {
         return (playerCount < 4) ? 4 : 3;
     }
@@ -0,0 +1,24 @@
+package com.game.algo.algo.data;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 방이 삭제되어 메모리에서 내려갈 때 발행된다.
+ * 방 단위로 상태를 들고 있는 컴포넌트는 이 이벤트를 받아서 정리한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder(access = AccessLevel.PROTECTED)
+public class GameRoomEvicted {
+
+    private Long gameRoomId;
+
+    public static GameRoomEvicted create(Long gameRoomId) {
+        return GameRoomEvicted.builder()
+                .gameRoomId(gameRoomId)
+                .build();
+    }
+}
@@ -1,22 +1,27 @@
 package com.game.algo.algo.data;
 
+import com.game.algo.algo.dto.response.ResponseGameData;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.util.List;
+import java.util.Map;
 
+/**
+ * 커밋 이후 각 플레이어에게 보낼 게임 데이터. (sessionId -> 해당 플레이어 기준의 ResponseGameData)
+ * 방의 커맨드 안에서 만들어지므로 같은 시점의 상태를 담고 있다.
+ */
 @Getter
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @Builder(access = AccessLevel.PROTECTED)
 public class GameStatusUpdateCommand {
 
-    private List<String> sessionIdList;
+    private Map<String, ResponseGameData> gameDataMap;
 
-    public static GameStatusUpdateCommand create(List<String> sessionIdList) {
+    public static GameStatusUpdateCommand create(Map<String, ResponseGameData> gameDataMap) {
         return GameStatusUpdateCommand.builder()
-                .sessionIdList(sessionIdList)
+                .gameDataMap(gameDataMap)
                 .build();
     }
 }
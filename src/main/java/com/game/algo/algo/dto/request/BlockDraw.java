@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class BlockDraw {
+public class BlockDraw implements GameRoomRequest {
 
     private Long playerId;
 
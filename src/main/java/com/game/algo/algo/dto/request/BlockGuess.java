@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class BlockGuess {
+public class BlockGuess implements GameRoomRequest {
 
     private Long gameRoomId;
 
@@ -10,4 +10,8 @@ import lombok.NoArgsConstructor;
 public class CheckVersion {
 
     private String version;
+
+    private String codec; // "binary" 면 바이너리 프레임을 요청, 없으면 JSON
+
+    private String compression; // "deflate" 면 큰 프레임을 압축해서 받는다, 없으면 압축하지 않음
 }
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class GameRoomJoin {
+public class GameRoomJoin implements GameRoomRequest {
 
     private Long gameRoomId;
 
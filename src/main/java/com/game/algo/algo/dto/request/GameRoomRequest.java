@@ -0,0 +1,9 @@
+package com.game.algo.algo.dto.request;
+
+/**
+ * 특정 방에 대한 요청. 수신 처리 시 같은 방의 요청끼리 순서를 지키는 기준이 된다.
+ */
+public interface GameRoomRequest {
+
+    Long getGameRoomId();
+}
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class GameStart {
+public class GameStart implements GameRoomRequest {
 
     private Long gameRoomId;
     private Long playerId;
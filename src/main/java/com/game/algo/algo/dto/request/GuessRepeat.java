@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class GuessRepeat {
+public class GuessRepeat implements GameRoomRequest {
 
     private Long gameRoomId;
 
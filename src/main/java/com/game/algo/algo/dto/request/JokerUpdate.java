@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class JokerUpdate {
+public class JokerUpdate implements GameRoomRequest {
 
     private Long playerId;
 
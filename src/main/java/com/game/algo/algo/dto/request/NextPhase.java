@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class NextPhase {
+public class NextPhase implements GameRoomRequest {
 
     private Long gameRoomId;
 
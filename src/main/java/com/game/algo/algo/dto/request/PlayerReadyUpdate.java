@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class PlayerReadyUpdate {
+public class PlayerReadyUpdate implements GameRoomRequest {
 
     private Long playerId;
 
@@ -0,0 +1,15 @@
+package com.game.algo.algo.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionResume {
+
+    private String token;
+
+    private Long lastSequence; // 마지막으로 적용한 GameStatusData / GameStatusDelta 의 sequence, 없으면 전체 상태를 받는다
+}
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class StartBlockDraw {
+public class StartBlockDraw implements GameRoomRequest {
 
     private Long playerId;
 
@@ -1,5 +1,6 @@
 package com.game.algo.algo.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
 import lombok.*;
@@ -27,6 +28,9 @@ public class GameStatusData {
 
     private Integer blackBlockCount;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sequence; // 웹소켓으로 보낼 때만 사용 (GameStatusDelta 참고)
+
     public static GameStatusData from(GameRoom gameRoom) {
         return GameStatusData.builder()
                 .id(gameRoom.getId())
@@ -36,12 +40,27 @@ public class GameStatusData {
                         .sorted(Comparator.comparing(PlayerGameData::getOrderNumber))
                         .collect(Collectors.toList()))
                 .progressPlayerNumber(gameRoom.getProgressPlayerNumber())
-                .whiteBlockCount(gameRoom.getWhiteBlockList().size())
-                .blackBlockCount(gameRoom.getBlackBlockList().size())
+                .whiteBlockCount(gameRoom.getWhiteBlockCount())
+                .blackBlockCount(gameRoom.getBlackBlockCount())
                 .build()
                 .hidePlayerDataBeforeSorting();
     }
 
+    /**
+     * 같은 내용에 방의 sequence 를 붙인 전체 상태
+     */
+    public GameStatusData withSequence(long sequence) {
+        return GameStatusData.builder()
+                .id(id)
+                .phase(phase)
+                .playerDataList(playerDataList)
+                .progressPlayerNumber(progressPlayerNumber)
+                .whiteBlockCount(whiteBlockCount)
+                .blackBlockCount(blackBlockCount)
+                .sequence(sequence)
+                .build();
+    }
+
     private GameStatusData hidePlayerDataBeforeSorting() {
         if (this.phase == GameRoom.Phase.SORT) {
             this.playerDataList = null;
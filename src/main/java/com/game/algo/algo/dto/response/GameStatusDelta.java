@@ -0,0 +1,78 @@
+package com.game.algo.algo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.game.algo.algo.entity.GameRoom;
+import lombok.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 직전에 보낸 GameStatusData 와 비교해서 바뀐 필드만 담는다. 바뀌지 않은 필드는 null 이라 직렬화되지 않는다.
+ * sequence 는 방 단위로 1씩 증가하며, 클라이언트는 (마지막으로 받은 sequence + 1) 이 아니면
+ * GameStatusSnapshot 을 요청해 전체 상태를 다시 받는다.
+ */
+@Getter
+@Builder(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameStatusDelta {
+
+    private Long id;
+
+    private long sequence;
+
+    private GameRoom.Phase phase;
+
+    private List<PlayerGameData> playerDataList; // 바뀐 플레이어만
+
+    private List<Long> removedPlayerIdList;
+
+    private Integer progressPlayerNumber;
+
+    private Integer whiteBlockCount;
+
+    private Integer blackBlockCount;
+
+    /**
+     * @param beforePlayerDataList 클라이언트가 가지고 있는 플레이어 데이터. SORT 페이즈에서는 플레이어 데이터를 숨기므로
+     *                             before.getPlayerDataList() 가 아니라 마지막으로 공개된 목록을 넘긴다.
+     */
+    public static GameStatusDelta between(GameStatusData before, List<PlayerGameData> beforePlayerDataList,
+                                          GameStatusData after, long sequence) {
+        GameStatusDelta delta = GameStatusDelta.builder()
+                .id(after.getId())
+                .sequence(sequence)
+                .phase(changedOrNull(before.getPhase(), after.getPhase()))
+                .progressPlayerNumber(changedOrNull(before.getProgressPlayerNumber(), after.getProgressPlayerNumber()))
+                .whiteBlockCount(changedOrNull(before.getWhiteBlockCount(), after.getWhiteBlockCount()))
+                .blackBlockCount(changedOrNull(before.getBlackBlockCount(), after.getBlackBlockCount()))
+                .build();
+
+        if (after.getPlayerDataList() != null) { // SORT 페이즈에는 플레이어 데이터를 보내지 않는다
+            delta.diffPlayerDataList(beforePlayerDataList, after.getPlayerDataList());
+        }
+        return delta;
+    }
+
+    public boolean isEmpty() {
+        return phase == null && playerDataList == null && removedPlayerIdList == null
+                && progressPlayerNumber == null && whiteBlockCount == null && blackBlockCount == null;
+    }
+
+    private void diffPlayerDataList(List<PlayerGameData> before, List<PlayerGameData> after) {
+        Map<Long, PlayerGameData> beforeById = before.stream()
+                .collect(Collectors.toMap(PlayerGameData::getId, playerGameData -> playerGameData));
+
+        List<PlayerGameData> changed = after.stream()
+                .filter(playerGameData -> !playerGameData.equals(beforeById.remove(playerGameData.getId())))
+                .collect(Collectors.toList());
+
+        playerDataList = changed.isEmpty() ? null : changed;
+        removedPlayerIdList = beforeById.isEmpty() ? null : new ArrayList<>(beforeById.keySet());
+    }
+
+    private static <T> T changedOrNull(T before, T after) {
+        return Objects.equals(before, after) ? null : after;
+    }
+}
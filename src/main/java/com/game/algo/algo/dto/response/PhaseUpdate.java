@@ -0,0 +1,36 @@
+package com.game.algo.algo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * 페이즈 전환 한번에 한 플레이어가 받아야 하는 데이터를 하나의 프레임으로 묶는다.
+ * (WaitForSec / OwnerBlockData / GameStatusData 또는 GameStatusDelta / DrawBlockData) 없는 항목은 직렬화되지 않는다.
+ */
+@Getter
+@Builder(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PhaseUpdate {
+
+    private Integer waitForSec;
+
+    private GameStatusData gameStatusData;
+
+    private GameStatusDelta gameStatusDelta;
+
+    private OwnerBlockData ownerBlockData;
+
+    private DrawBlockData drawBlockData;
+
+    public static PhaseUpdate create(Integer waitForSec, GameStatusData gameStatusData, GameStatusDelta gameStatusDelta,
+                                     OwnerBlockData ownerBlockData, DrawBlockData drawBlockData) {
+        return PhaseUpdate.builder()
+                .waitForSec(waitForSec)
+                .gameStatusData(gameStatusData)
+                .gameStatusDelta(gameStatusDelta)
+                .ownerBlockData(ownerBlockData)
+                .drawBlockData(drawBlockData)
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import lombok.*;
 import java.util.List;
 
 @Getter
+@EqualsAndHashCode
 @Builder(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 public class PlayerGameData {
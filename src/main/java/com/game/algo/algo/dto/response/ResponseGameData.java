@@ -26,8 +26,15 @@ public class ResponseGameData {
             throw new GameLogicException(GameExceptionCode.PLAYER_NOT_JOIN_ROOM);
         }
 
+        return from(player, GameStatusData.from(player.getGameRoom()));
+    }
+
+    /**
+     * 같은 방의 플레이어들은 GameStatusData 가 같으므로 한번 만든 것을 같이 쓴다.
+     */
+    public static ResponseGameData from(Player player, GameStatusData gameStatusData) {
         return ResponseGameData.builder()
-                .gameStatusData(GameStatusData.from(player.getGameRoom()))
+                .gameStatusData(gameStatusData)
                 .waitForSecond(player.getGameRoom().getPhase().getWaitTime())
                 .ownerBlockData(OwnerBlockData.from(player))
                 .drawBlockData(player.getDrawBlockIndexNum() != -1 ? DrawBlockData.from(player) : null)
@@ -2,48 +2,54 @@ package com.game.algo.algo.entity;
 
 import com.game.algo.algo.data.BlockColor;
 import com.game.algo.algo.data.GameProperty;
-import lombok.*;
-
-import javax.persistence.Embeddable;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-
-import java.util.Objects;
+import lombok.Getter;
 
 import static com.game.algo.algo.data.GameProperty.*;
 
 /**
  * BlockCode
  * 1 ~ 11 숫자블록, 12 = 조커, 13 = Status.CLOSE, 14 = 숫자 0;
+ *
+ * 색깔 2 x 숫자 13 x 공개여부 2 = 52 가지 상태뿐이라 미리 만들어둔 불변 객체를 공유한다. (flyweight)
+ * 공개는 상태를 바꾸지 않고 같은 블록의 공개된 인스턴스를 반환한다.
  */
-
 @Getter
 //@Embeddable
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Builder(access = AccessLevel.PROTECTED)
-public class Block {
+public final class Block {
+
+    private static final Block[] BLOCKS = new Block[2 * (JOKER_BLOCK_NUMBER + 1) * 2];
+
+    static {
+        for (int num = 0; num <= JOKER_BLOCK_NUMBER; num++) {
+            for (BlockColor blockColor : BlockColor.values()) {
+                BLOCKS[indexOf(blockColor, num, false)] = new Block(blockColor, num, false);
+                BLOCKS[indexOf(blockColor, num, true)] = new Block(blockColor, num, true);
+            }
+        }
+    }
+
+    private final BlockColor blockColor;
 
-    private BlockColor blockColor;
+    private final int num;
 
-    private Integer num;
+    private final boolean isOpen;
 
-    private boolean isOpen;
 
+    private Block(BlockColor blockColor, int num, boolean isOpen) {
+        this.blockColor = blockColor;
+        this.num = num;
+        this.isOpen = isOpen;
+    }
 
     public static Block create(BlockColor blockColor, int num) {
-        return Block.builder()
-                .blockColor(blockColor)
-                .num(num)
-                .build();
+        return create(blockColor, num, false);
     }
 
     public static Block create(BlockColor blockColor, int num, boolean isOpen) {
-        return Block.builder()
-                .blockColor(blockColor)
-                .num(num)
-                .isOpen(isOpen)
-                .build();
+        if (num < 0 || num > JOKER_BLOCK_NUMBER) {
+            throw new IllegalArgumentException("invalid block number : " + num);
+        }
+        return BLOCKS[indexOf(blockColor, num, isOpen)];
     }
 
     public static int parseBlockCode(int blockCode) {
@@ -76,11 +82,11 @@ public class Block {
     }
 
     public boolean isJoker() {
-        return num == JOKER_BLOCK_NUMBER || num == -1 * JOKER_BLOCK_NUMBER;
+        return num == JOKER_BLOCK_NUMBER;
     }
 
-    public void open() {
-        this.isOpen = true;
+    public Block open() {
+        return create(blockColor, num, true);
     }
 
     public boolean comparePosition(Block otherBlock) {
@@ -88,7 +94,7 @@ public class Block {
             return false;
         }
 
-        if(Objects.equals(this.getNum(), otherBlock.getNum())) {
+        if (this.num == otherBlock.getNum()) {
             return this.blockColor.getCode() > otherBlock.getBlockColor().getCode();
         } else {
             return this.getNum() > otherBlock.getNum();
@@ -98,4 +104,8 @@ public class Block {
     public boolean isClose() {
         return !isOpen;
     }
+
+    private static int indexOf(BlockColor blockColor, int num, boolean isOpen) {
+        return (num * 2 + (blockColor == BlockColor.WHITE ? 1 : 0)) * 2 + (isOpen ? 1 : 0);
+    }
 }
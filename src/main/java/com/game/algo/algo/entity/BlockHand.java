@@ -0,0 +1,260 @@
+package com.game.algo.algo.entity;
+
+import com.game.algo.algo.data.BlockColor;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.game.algo.algo.data.GameProperty.*;
+
+/**
+ * Player 가 가진 블록 패.
+ * 블록 하나를 (숫자 << 1 | 색깔비트) 1 byte 로 정렬해 담고, 공개 여부는 openMask 의 비트로 관리한다.
+ * 색깔비트는 흰색 = 1 이라서 byte 값의 대소가 곧 정렬 순서가 된다. (같은 숫자면 검은색이 앞)
+ * 조커는 플레이어가 원하는 위치에 둘 수 있으므로 정렬 비교에서 제외된다.
+ * 변경될 때마다 version 이 올라가므로, BlockHandType 은 version 이 다르면 내용 비교 없이 변경된 것으로 판단한다.
+ */
+public class BlockHand {
+
+    private static final int MAX_SIZE = (JOKER_BLOCK_NUMBER + 1) * 2; // 26
+
+    private static final int WHITE_BIT = 1;
+
+    private final byte[] blocks = new byte[MAX_SIZE];
+
+    private int openMask;
+
+    private int size;
+
+    private int version;
+
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 같은 내용, 같은 version 의 복사본. 영속성 컨텍스트의 스냅샷 용도
+     */
+    public BlockHand copy() {
+        BlockHand copy = new BlockHand();
+        System.arraycopy(blocks, 0, copy.blocks, 0, size);
+        copy.openMask = openMask;
+        copy.size = size;
+        copy.version = version;
+        return copy;
+    }
+
+    public void clear() {
+        size = 0;
+        openMask = 0;
+        version++;
+    }
+
+    /**
+     * 정렬 순서에 맞는 위치에 블록을 넣고 그 위치를 반환한다.
+     */
+    public int add(BlockColor blockColor, int num, boolean isOpen) {
+        byte block = encode(blockColor, num);
+        int index = isJoker(block) ? size : findPosition(block);
+        insert(index, block, isOpen);
+        return index;
+    }
+
+    /**
+     * 정렬하지 않고 맨 뒤에 붙인다. 저장된 패를 그대로 복원할 때 사용한다.
+     */
+    public void append(BlockColor blockColor, int num, boolean isOpen) {
+        insert(size, encode(blockColor, num), isOpen);
+    }
+
+    /**
+     * 새 블록이 들어갈 위치. 조커를 건너뛰며 새 블록보다 큰 첫번째 블록의 위치를 이분탐색으로 찾는다.
+     */
+    public int findPosition(BlockColor blockColor, int num) {
+        byte block = encode(blockColor, num);
+        return isJoker(block) ? size : findPosition(block);
+    }
+
+    public void move(int fromIndex, int toIndex) {
+        checkIndex(fromIndex);
+        byte block = blocks[fromIndex];
+        boolean isOpen = isOpen(fromIndex);
+
+        remove(fromIndex);
+        if (toIndex < 0 || toIndex > size) {
+            insert(fromIndex, block, isOpen); // 원상복구
+            throw new IndexOutOfBoundsException("index: " + toIndex + ", size: " + size);
+        }
+        insert(toIndex, block, isOpen);
+    }
+
+    public int getNum(int index) {
+        checkIndex(index);
+        return blocks[index] >> 1;
+    }
+
+    public BlockColor getBlockColor(int index) {
+        checkIndex(index);
+        return ((blocks[index] & WHITE_BIT) == WHITE_BIT) ? BlockColor.WHITE : BlockColor.BLACK;
+    }
+
+    public boolean isOpen(int index) {
+        checkIndex(index);
+        return (openMask & (1 << index)) != 0;
+    }
+
+    public boolean isJoker(int index) {
+        checkIndex(index);
+        return isJoker(blocks[index]);
+    }
+
+    public boolean isAllOpen() {
+        return openMask == fullMask();
+    }
+
+    public int getClosedCount() {
+        return size - Integer.bitCount(openMask);
+    }
+
+    public void open(int index) {
+        checkIndex(index);
+        openMask |= 1 << index;
+        version++;
+    }
+
+    public void openAll() {
+        openMask = fullMask();
+        version++;
+    }
+
+    /**
+     * 해당 색깔 조커의 위치, 조커가 정확히 하나가 아니라면 -1
+     */
+    public int findJoker(BlockColor blockColor) {
+        byte joker = encode(blockColor, JOKER_BLOCK_NUMBER);
+        int jokerIndex = -1;
+
+        for (int i = 0; i < size; i++) {
+            if (blocks[i] == joker) {
+                if (jokerIndex != -1) {
+                    return -1;
+                }
+                jokerIndex = i;
+            }
+        }
+        return jokerIndex;
+    }
+
+    /**
+     * Block.getBlockCode 와 같은 값을 객체 생성 없이 계산한다.
+     */
+    public int getBlockCode(int index, boolean isOwner) {
+        int sign = getBlockColor(index).getCode();
+
+        if (!isOwner && !isOpen(index)) {
+            return CLOSED_BLOCK_NUMBER * sign;
+        }
+
+        int num = getNum(index);
+        if (num == 0) {
+            return ZERO_BLOCK_NUMBER * sign;
+        }
+        return num * sign; // 조커는 12
+    }
+
+    public Block getBlock(int index) {
+        return Block.create(getBlockColor(index), getNum(index), isOpen(index));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BlockHand other = (BlockHand) o;
+        return size == other.size
+                && openMask == other.openMask
+                && Arrays.equals(blocks, 0, size, other.blocks, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(size, openMask);
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + blocks[i];
+        }
+        return result;
+    }
+
+    private int findPosition(byte block) {
+        int result = size;
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            int compareIndex = mid;
+            while (compareIndex < high && isJoker(blocks[compareIndex])) {
+                compareIndex++;
+            }
+
+            if (compareIndex == high) { // mid ~ high 사이가 모두 조커
+                high = mid;
+            } else if (blocks[compareIndex] > block) {
+                result = compareIndex;
+                high = mid;
+            } else {
+                low = compareIndex + 1;
+            }
+        }
+        return result;
+    }
+
+    private void insert(int index, byte block, boolean isOpen) {
+        if (size == MAX_SIZE) {
+            throw new IllegalStateException("hand is full");
+        }
+
+        System.arraycopy(blocks, index, blocks, index + 1, size - index);
+        blocks[index] = block;
+
+        int lowMask = (1 << index) - 1;
+        openMask = (openMask & lowMask) | ((openMask & ~lowMask) << 1) | (isOpen ? 1 << index : 0);
+        size++;
+        version++;
+    }
+
+    private void remove(int index) {
+        System.arraycopy(blocks, index + 1, blocks, index, size - index - 1);
+
+        int lowMask = (1 << index) - 1;
+        openMask = (openMask & lowMask) | ((openMask >>> 1) & ~lowMask);
+        size--;
+        version++;
+    }
+
+    private int fullMask() {
+        return (1 << size) - 1;
+    }
+
+    private void checkIndex(int index) {
+        Objects.checkIndex(index, size);
+    }
+
+    private static byte encode(BlockColor blockColor, int num) {
+        return (byte) ((num << 1) | (blockColor == BlockColor.WHITE ? WHITE_BIT : 0));
+    }
+
+    private static boolean isJoker(byte block) {
+        return (block >> 1) == JOKER_BLOCK_NUMBER;
+    }
+}
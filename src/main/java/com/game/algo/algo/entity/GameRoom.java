@@ -5,7 +5,6 @@ import com.game.algo.algo.data.GameProperty;
 import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.global.audit.Auditable;
-import com.game.algo.global.converter.BlockArrayConverter;
 import com.querydsl.core.annotations.QueryEntity;
 import lombok.*;
 
@@ -13,6 +12,8 @@ import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -26,6 +27,10 @@ import java.util.stream.IntStream;
 @Builder(access = AccessLevel.PROTECTED)
 public class GameRoom extends Auditable {
 
+    private static final int NUMBER_BLOCKS_MASK = (1 << GameProperty.JOKER_BLOCK_NUMBER) - 1; // 0 ~ 11
+
+    private static final int JOKER_BIT = 1 << GameProperty.JOKER_BLOCK_NUMBER;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,17 +48,30 @@ public class GameRoom extends Auditable {
     @Builder.Default
     private Integer progressPlayerNumber = 0;
 
-    @Convert(converter = BlockArrayConverter.class)
+    /**
+     * 뽑을 수 있는 블록 더미. n 번째 비트 = 숫자 n 블록 (0 ~ 11), 12 번째 비트 = 조커
+     */
     @Builder.Default
-    private List<Block> whiteBlockList = new ArrayList<>();
+    private int whiteBlockMask = 0;
 
-    @Convert(converter = BlockArrayConverter.class)
     @Builder.Default
-    private List<Block> blackBlockList = new ArrayList<>();
+    private int blackBlockMask = 0;
 
     @Builder.Default
     private boolean gameStart = false;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private Player[] playerOrderIndex; // orderNumber 위치에 Player, null 이면 다음 조회때 카운터와 함께 다시 만든다
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private int readyPlayerCount;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private int activePlayerCount; // 리타이어 하지 않은 Player
+
 
     public static GameRoom create(String title) {
         return GameRoom.builder()
@@ -61,6 +79,45 @@ public class GameRoom extends Auditable {
                 .build();
     }
 
+    /**
+     * 저장용 복사본. 메모리의 방을 건드리지 않고 merge 할 수 있도록 Player 와 패까지 복사한다.
+     */
+    public GameRoom copyForPersist() {
+        GameRoom copy = GameRoom.builder()
+                .id(id)
+                .title(title)
+                .phase(phase)
+                .progressPlayerNumber(progressPlayerNumber)
+                .whiteBlockMask(whiteBlockMask)
+                .blackBlockMask(blackBlockMask)
+                .gameStart(gameStart)
+                .build();
+
+        playerList.forEach(player -> copy.playerList.add(player.copyForPersist(copy)));
+        return copy;
+    }
+
+    /**
+     * copyForPersist 로 만든 복사본의 값으로 되돌린다. 커맨드가 상태를 바꾸던 도중에 실패했을 때 사용한다.
+     * 복사할 때 방에 있던 Player 객체(players, 복사본과 같은 순서)를 다시 참여시키고 각각의 값도 되돌린다.
+     */
+    public void restore(GameRoom copy, List<Player> players) {
+        title = copy.title;
+        phase = copy.phase;
+        progressPlayerNumber = copy.progressPlayerNumber;
+        whiteBlockMask = copy.whiteBlockMask;
+        blackBlockMask = copy.blackBlockMask;
+        gameStart = copy.gameStart;
+
+        playerList.clear();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            player.restore(copy.playerList.get(i), this);
+            playerList.add(player);
+        }
+        rebuildPlayerIndex();
+    }
+
     public void gameReset() {
         progressPlayerNumber = 0;
         blockReset();
@@ -72,11 +129,12 @@ public class GameRoom extends Auditable {
 
         playerList.add(player);
         player.joinGameRoom(this);
-        playerList = new ArrayList<>(playerList);
+        rebuildPlayerIndex();
     }
 
     public boolean areAllPlayersReady() {
-        return playerList.stream().allMatch(Player::isReady);
+        getPlayerOrderIndex();
+        return readyPlayerCount == playerList.size();
     }
 
     public void allPlayerReadyOff() {
@@ -84,7 +142,7 @@ public class GameRoom extends Auditable {
     }
 
     public void nextPlayer() {
-        for (int i=0; i<playerList.size(); i++) {
+        for (int i=0; i<playerList.size(); i++) { // 최대 PLAYER_MAX_COUNT 번
             progressPlayerNumberUp();
             if (!getProgressPlayer().isRetire()){
                 return;
@@ -96,11 +154,19 @@ public class GameRoom extends Auditable {
         progressPlayerNumber = 0;
     }
 
+    public Optional<Player> findPlayer(Long playerId) {
+        return playerList.stream()
+                .filter(player -> Objects.equals(player.getId(), playerId))
+                .findFirst();
+    }
+
     public Player getProgressPlayer() {
-        return playerList.stream() // 플레이어 뜯어 찾는 방법
-                .filter(player -> player.getOrderNumber() == progressPlayerNumber)
-                .findFirst()
-                .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+        Player[] orderIndex = getPlayerOrderIndex();
+
+        if (progressPlayerNumber < 0 || progressPlayerNumber >= orderIndex.length || orderIndex[progressPlayerNumber] == null) {
+            throw new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND);
+        }
+        return orderIndex[progressPlayerNumber];
     }
 
     public void randomSetPlayerOrder() {
@@ -112,20 +178,40 @@ public class GameRoom extends Auditable {
                 .forEach(i -> {
                     playerOrderList.get(i).updateOrder(i);
                 });
+        rebuildPlayerIndex();
     }
 
     public Block drawRandomBlock(BlockColor blockColor) {
-        double randomValue = Math.random();
+        int blockMask = getBlockMask(blockColor);
+        int blockCount = Integer.bitCount(blockMask);
 
-        try {
-            if (blockColor == BlockColor.WHITE) {
-                return whiteBlockList.remove((int)(randomValue * whiteBlockList.size()));
-            } else {
-                return blackBlockList.remove((int)(randomValue * blackBlockList.size()));
-            }
-        } catch (Exception e) {
+        if (blockCount == 0) {
             throw new GameLogicException(GameExceptionCode.BLOCK_IS_DEPLETED);
         }
+
+        int num = nthSetBit(blockMask, (int) (Math.random() * blockCount));
+        updateBlockMask(blockColor, blockMask & ~(1 << num));
+
+        return Block.create(blockColor, num);
+    }
+
+    public int getWhiteBlockCount() {
+        return Integer.bitCount(whiteBlockMask);
+    }
+
+    public int getBlackBlockCount() {
+        return Integer.bitCount(blackBlockMask);
+    }
+
+    /**
+     * 남아있는 블록을 숫자 오름차순으로 (조커는 마지막) 만들어 반환한다. 조회 / 테스트 용도
+     */
+    public List<Block> getWhiteBlockList() {
+        return blockListOf(BlockColor.WHITE, whiteBlockMask);
+    }
+
+    public List<Block> getBlackBlockList() {
+        return blockListOf(BlockColor.BLACK, blackBlockMask);
     }
 
     public void updatePhase(Phase phase) {
@@ -138,37 +224,102 @@ public class GameRoom extends Auditable {
     }
 
     public void addJoker() {
-        if (whiteBlockList.stream().noneMatch(Block::isJoker)) {
-            whiteBlockList.add(Block.create(BlockColor.WHITE, 12));
-            whiteBlockList = new ArrayList<>(whiteBlockList);
-
-            blackBlockList.add(Block.create(BlockColor.BLACK, 12));
-            blackBlockList = new ArrayList<>(blackBlockList);
+        if ((whiteBlockMask & JOKER_BIT) == 0) {
+            whiteBlockMask |= JOKER_BIT;
+            blackBlockMask |= JOKER_BIT;
         }
     }
 
     public boolean isGameOver() {
-        int leftPlayer = (int) playerList.stream()
-                .filter(player -> !player.isRetire())
-                .count();
-
-        return leftPlayer <= 1;
+        getPlayerOrderIndex();
+        return activePlayerCount <= 1;
     }
 
     public void removePlayer(Player player) {
         playerList.remove(player);
-        playerList = new ArrayList<>(playerList);
+        rebuildPlayerIndex();
+    }
+
+    /**
+     * Player 의 orderNumber 가 GameRoom 밖에서 바뀐 경우 호출된다.
+     */
+    void invalidatePlayerOrderIndex() {
+        playerOrderIndex = null;
+    }
+
+    void playerReadyChanged(boolean ready) {
+        if (playerOrderIndex != null) {
+            readyPlayerCount += ready ? 1 : -1;
+        }
+    }
+
+    void playerRetireChanged(boolean retire) {
+        if (playerOrderIndex != null) {
+            activePlayerCount += retire ? -1 : 1;
+        }
     }
 
     private void blockReset() {
-        whiteBlockList = blockSet(BlockColor.WHITE);
-        blackBlockList = blockSet(BlockColor.BLACK);
+        whiteBlockMask = NUMBER_BLOCKS_MASK;
+        blackBlockMask = NUMBER_BLOCKS_MASK;
     }
 
-    private List<Block> blockSet(BlockColor blockColor) {
-        return IntStream.range(0, 12)
-                .mapToObj(num -> Block.create(blockColor, num))
-                .collect(Collectors.toList());
+    private int getBlockMask(BlockColor blockColor) {
+        return (blockColor == BlockColor.WHITE) ? whiteBlockMask : blackBlockMask;
+    }
+
+    private void updateBlockMask(BlockColor blockColor, int blockMask) {
+        if (blockColor == BlockColor.WHITE) {
+            whiteBlockMask = blockMask;
+        } else {
+            blackBlockMask = blockMask;
+        }
+    }
+
+    /**
+     * 마스크에서 n 번째(0부터) 켜진 비트의 위치. 비트가 최대 13개라 반복 횟수가 상수로 제한된다.
+     */
+    private static int nthSetBit(int blockMask, int n) {
+        for (int i = 0; i < n; i++) {
+            blockMask &= blockMask - 1; // 가장 낮은 비트를 끈다
+        }
+        return Integer.numberOfTrailingZeros(blockMask);
+    }
+
+    private static List<Block> blockListOf(BlockColor blockColor, int blockMask) {
+        List<Block> blockList = new ArrayList<>(Integer.bitCount(blockMask));
+        while (blockMask != 0) {
+            blockList.add(Block.create(blockColor, Integer.numberOfTrailingZeros(blockMask)));
+            blockMask &= blockMask - 1;
+        }
+        return blockList;
+    }
+
+    private Player[] getPlayerOrderIndex() {
+        if (playerOrderIndex == null) {
+            rebuildPlayerIndex();
+        }
+        return playerOrderIndex;
+    }
+
+    private void rebuildPlayerIndex() {
+        int maxOrderNumber = GameProperty.PLAYER_MAX_COUNT - 1;
+        readyPlayerCount = 0;
+        activePlayerCount = 0;
+
+        for (Player player : playerList) {
+            maxOrderNumber = Math.max(maxOrderNumber, player.getOrderNumber());
+            readyPlayerCount += player.isReady() ? 1 : 0;
+            activePlayerCount += player.isRetire() ? 0 : 1;
+        }
+
+        Player[] orderIndex = new Player[maxOrderNumber + 1];
+        for (Player player : playerList) {
+            if (player.getOrderNumber() >= 0 && orderIndex[player.getOrderNumber()] == null) {
+                orderIndex[player.getOrderNumber()] = player; // 순서가 겹치면 먼저 들어온 Player
+            }
+        }
+        playerOrderIndex = orderIndex;
     }
 
     private void checkVacancy() {
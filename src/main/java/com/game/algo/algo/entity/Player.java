@@ -4,14 +4,14 @@ import com.game.algo.algo.data.BlockColor;
 import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.global.audit.Auditable;
-import com.game.algo.global.converter.BlockArrayConverter;
 import com.querydsl.core.annotations.QueryEntity;
 import lombok.*;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 //@RedisHash(value = "player")
@@ -42,9 +42,11 @@ public class Player extends Auditable {
 
     private int orderNumber;
 
-    @Convert(converter = BlockArrayConverter.class)
+    @Type(type = "com.game.algo.global.converter.BlockHandType")
+    @Column(name = "block_list", length = 32) // 버전 1 byte + 블록 최대 26개
+    @Getter(AccessLevel.NONE)
     @Builder.Default
-    private List<Block> blockList = new ArrayList<>();
+    private BlockHand hand = new BlockHand();
 
     @Builder.Default
     private Integer drawBlockIndexNum = -1;
@@ -63,61 +65,120 @@ public class Player extends Auditable {
                 .build();
     }
 
+    /**
+     * GameRoom.copyForPersist 에서 호출된다. 패는 복사본을 사용한다.
+     */
+    Player copyForPersist(GameRoom gameRoom) {
+        return Player.builder()
+                .id(id)
+                .name(name)
+                .ready(ready)
+                .retire(retire)
+                .webSocketSessionId(webSocketSessionId)
+                .gameRoom(gameRoom)
+                .orderNumber(orderNumber)
+                .hand(hand.copy())
+                .drawBlockIndexNum(drawBlockIndexNum)
+                .whiteJokerRange(whiteJokerRange)
+                .blackJokerRange(blackJokerRange)
+                .build();
+    }
+
+    /**
+     * GameRoom.restore 에서 호출된다. 복사본의 패를 그대로 넘겨받는다.
+     */
+    void restore(Player copy, GameRoom gameRoom) {
+        name = copy.name;
+        ready = copy.ready;
+        retire = copy.retire;
+        webSocketSessionId = copy.webSocketSessionId;
+        this.gameRoom = gameRoom;
+        orderNumber = copy.orderNumber;
+        hand = copy.hand;
+        drawBlockIndexNum = copy.drawBlockIndexNum;
+        whiteJokerRange = copy.whiteJokerRange;
+        blackJokerRange = copy.blackJokerRange;
+    }
+
     public void joinGameRoom(GameRoom gameRoom){
         this.gameRoom = gameRoom;
         orderNumber = gameRoom.getPlayerList().size() - 1;
     }
 
+    /**
+     * 패를 Block 으로 만들어 반환한다. 조회 용도이며 수정은 반영되지 않는다.
+     */
+    public List<Block> getBlockList() {
+        List<Block> blockList = new ArrayList<>(hand.size());
+        for (int i = 0; i < hand.size(); i++) {
+            blockList.add(hand.getBlock(i));
+        }
+        return Collections.unmodifiableList(blockList);
+    }
+
+    public int getBlockCount() {
+        return hand.size();
+    }
+
+    public int getBlockCode(int index, boolean isOwner) {
+        return hand.getBlockCode(index, isOwner);
+    }
+
+    /**
+     * 블록 코드는 -14 ~ 14 라서 Integer 캐시 범위 안에 있으므로 리스트 외에는 새로 생성되는 객체가 없다.
+     */
     public List<Integer> getBlockListCode(boolean isOwner) {
-        return blockList.stream()
-                .map(block -> block.getBlockCode(isOwner))
-                .collect(Collectors.toList());
+        List<Integer> blockCodeList = new ArrayList<>(hand.size());
+        for (int i = 0; i < hand.size(); i++) {
+            blockCodeList.add(hand.getBlockCode(i, isOwner));
+        }
+        return blockCodeList;
     }
 
     public void updateReady(boolean ready) {
-        this.ready =  ready;
+        if (this.ready == ready) {
+            return;
+        }
+        this.ready = ready;
+        if (gameRoom != null) {
+            gameRoom.playerReadyChanged(ready);
+        }
+    }
+
+    public int getClosedBlockCount() {
+        return hand.getClosedCount();
     }
 
     public void gameReset() {
-        ready = false;
-        retire = false;
+        updateReady(false);
+        updateRetire(false);
         // orderNumber = 0;
-        blockList = new ArrayList<>();
+        hand.clear();
         drawBlockIndexNum = -1;
         whiteJokerRange = 12;
         blackJokerRange = 12;
     }
 
     public int findPosition(Block drawBlock) {
-        Block findBlock = blockList.stream()
-                .filter(block -> block.comparePosition(drawBlock))
-                .findFirst()
-                .orElse(null);
-
-        if (findBlock == null) {
-            return blockList.size();
-        }
-        return blockList.indexOf(findBlock);
+        return hand.findPosition(drawBlock.getBlockColor(), drawBlock.getNum());
     }
 
     public void addBlock(Block block) {
-        int indexNum = findPosition(block);
-        blockList.add(indexNum, block);
-        setDrawBlockIndexNum(block);
-        blockList = new ArrayList<>(blockList);
+        drawBlockIndexNum = hand.add(block.getBlockColor(), block.getNum(), block.isOpen());
     }
 
     public void updateJokerIndex(int index, BlockColor jokerColor) {
-        Block findDrawBlock = getDrawBlock();
-        Block findJoker = findJoker(jokerColor);
-        blockList.remove(findJoker);
+        int jokerIndex = findJokerIndex(jokerColor);
 
-        if (!betweenRange(findDrawBlock, findDrawBlock.isColor(BlockColor.WHITE) ? whiteJokerRange : blackJokerRange)) {
+        if (!hand.isJoker(drawBlockIndexNum)
+                && !betweenRange(hand.getNum(drawBlockIndexNum), hand.getBlockColor(drawBlockIndexNum) == BlockColor.WHITE ? whiteJokerRange : blackJokerRange)) {
             throw new GameLogicException(GameExceptionCode.JOKER_NOT_MATCH);
         }
 
-        int frontNum = (index == 0) ? 0 : blockList.get(index - 1).getNum();
-        int backNum = (index >= blockList.size()) ? 12 : blockList.get(index).getNum();
+        hand.move(jokerIndex, index);
+
+        int frontNum = (index == 0) ? 0 : hand.getNum(index - 1);
+        int backNum = (index + 1 >= hand.size()) ? 12 : hand.getNum(index + 1);
 
         if (jokerColor == BlockColor.WHITE) {
             whiteJokerRange = frontNum * 100 + backNum;
@@ -125,21 +186,19 @@ public class Player extends Auditable {
             blackJokerRange = frontNum * 100 + backNum;
         }
 
-        blockList.add(index, findJoker);
-
-        blockList = new ArrayList<>(blockList);
-        setDrawBlockIndexNum(findDrawBlock);
+        drawBlockIndexNum = movedIndex(drawBlockIndexNum, jokerIndex, index);
     }
 
     public void updateOrder(int order) {
         this.orderNumber = order;
+        if (gameRoom != null) {
+            gameRoom.invalidatePlayerOrderIndex();
+        }
     }
 
     public boolean guessBlock(int index, int num) {
-        Block findBlock = blockList.get(index);
-        if (findBlock.getNum() == num) {
-            findBlock.open();
-            blockList = new ArrayList<>(blockList);
+        if (hand.getNum(index) == num) {
+            hand.open(index);
             checkRetire();
             return true;
         }
@@ -147,8 +206,7 @@ public class Player extends Auditable {
     }
 
     public void openDrawCard() {
-        getDrawBlock().open();
-        blockList = new ArrayList<>(blockList);
+        hand.open(drawBlockIndexNum);
     }
 
     public void exit() {
@@ -162,40 +220,53 @@ public class Player extends Auditable {
     public void disconnect() {
         webSocketSessionId = "disconnect";
         name = "disconnect";
-        retire = true;
-        blockList.forEach(Block::open);
+        updateRetire(true);
+        hand.openAll();
     }
 
-    private Block findJoker(BlockColor blockColor) {
-        List<Block> findJoker = blockList.stream()
-                .filter(block -> block.isColor(blockColor) && block.isJoker())
-                .collect(Collectors.toList());
+    private int findJokerIndex(BlockColor blockColor) {
+        int jokerIndex = hand.findJoker(blockColor);
 
-        if (findJoker.size() != 1) {
+        if (jokerIndex == -1) {
             throw new GameLogicException(GameExceptionCode.JOKER_NOT_MATCH);
         }
 
-        return findJoker.get(0);
+        return jokerIndex;
     }
 
-    private boolean betweenRange(Block block, int jokerRange) {
-        if (block.isJoker()) {
-            return true;
-        }
-        return jokerRange / 100 <= block.getNum() && block.getNum() <= jokerRange % 100;
+    private boolean betweenRange(int num, int jokerRange) {
+        return jokerRange / 100 <= num && num <= jokerRange % 100;
     }
 
-    private void setDrawBlockIndexNum(Block block) {
-        drawBlockIndexNum = blockList.indexOf(block);
+    /**
+     * fromIndex 의 블록을 toIndex 로 옮긴 뒤 index 에 있던 블록의 새 위치
+     */
+    private static int movedIndex(int index, int fromIndex, int toIndex) {
+        if (index == fromIndex) {
+            return toIndex;
+        }
+        if (fromIndex < index) {
+            index--;
+        }
+        if (toIndex <= index) {
+            index++;
+        }
+        return index;
     }
 
-    private Block getDrawBlock() {
-        return blockList.get(drawBlockIndexNum);
+    private void checkRetire() {
+        if (hand.getClosedCount() == 0) {
+            updateRetire(true);
+        }
     }
 
-    private void checkRetire() {
-        if (blockList.stream().noneMatch(Block::isClose)) {
-            retire = true;
+    private void updateRetire(boolean retire) {
+        if (this.retire == retire) {
+            return;
+        }
+        this.retire = retire;
+        if (gameRoom != null) {
+            gameRoom.playerRetireChanged(retire);
         }
     }
 }
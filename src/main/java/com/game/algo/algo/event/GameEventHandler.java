@@ -1,9 +1,14 @@
 package com.game.algo.algo.event;
 
+import com.game.algo.algo.data.GamePhaseTimeout;
 import com.game.algo.algo.data.GameStatusUpdateCommand;
+import com.game.algo.algo.service.GameRoomService;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.MessageDataResponse;
 import com.game.algo.websocket.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -14,15 +19,25 @@ import org.springframework.transaction.event.TransactionalEventListener;
 public class GameEventHandler {
 
     private final WebSocketService webSocketService;
+    private final GameRoomService gameRoomService;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
-    public void sendUpdateCommand(GameStatusUpdateCommand gameStatusUpdateCommand) {
-        gameStatusUpdateCommand.getSessionIdList().forEach(sessionId -> {
+    /**
+     * 클라이언트가 다시 조회하지 않도록 플레이어별 게임 데이터를 바로 보낸다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void sendGameData(GameStatusUpdateCommand gameStatusUpdateCommand) {
+        gameStatusUpdateCommand.getGameDataMap().forEach((sessionId, gameData) -> {
             try {
-                webSocketService.updateCommand(sessionId);
+                webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.GameData, gameData));
             } catch (Exception e) {
-                
+                log.debug("game data send fail : sessionId:{} / {}", sessionId, e.getMessage());
             }
         });
     }
+
+    @EventListener
+    public void expirePhase(GamePhaseTimeout gamePhaseTimeout) {
+        log.debug("phase timeout : gameRoomId:{} / phase:{}", gamePhaseTimeout.getGameRoomId(), gamePhaseTimeout.getPhase());
+        gameRoomService.expirePhase(gamePhaseTimeout.getGameRoomId(), gamePhaseTimeout.getPhaseSequence());
+    }
 }
@@ -21,6 +21,7 @@ public enum GameExceptionCode {
     ALREADY_GAME_START(400, "already game start"),
     ALREADY_EXECUTED(400, "already executed"),
     ALREADY_JOIN(400, "already join"),
+    RESUME_EXPIRED(400, "resume expired"),
     INVALID_REQUEST(400, "invalid request");
 
     private int status;
@@ -0,0 +1,153 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.data.GameRoomEvicted;
+import com.game.algo.algo.exception.GameLogicException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 클라이언트가 붙여 보낸 commandId 로 같은 커맨드의 재전송을 걸러낸다.
+ * 방마다 (세션, commandId) -> 처리 결과를 LRU + TTL 로 기억해 두고, 중복이면 실행하지 않고 기억한 결과(또는 예외)를 돌려준다.
+ * 처리 중에 같은 커맨드가 다시 오면 먼저 온 커맨드가 끝날 때까지 기다렸다가 같은 결과를 받는다.
+ * GameLogicException 은 결과로 기억하지만, 그 외의 예외는 일시적인 오류일 수 있으므로 기억하지 않는다.
+ * 방의 캐시는 방이 삭제될 때(GameRoomEvicted) 함께 버린다.
+ */
+@Component
+public class CommandDeduplicator {
+
+    private final Map<Long, RoomCache> roomCaches = new ConcurrentHashMap<>();
+    private final LongAdder duplicateCount = new LongAdder();
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public CommandDeduplicator(@Value("${algo.command-dedup.capacity-per-room:256}") int capacity,
+                               @Value("${algo.command-dedup.ttl-ms:60000}") long ttlMillis) {
+        this(capacity, ttlMillis, System::currentTimeMillis);
+    }
+
+    CommandDeduplicator(int capacity, long ttlMillis, LongSupplier clock) {
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+
+    /**
+     * @param commandId 클라이언트가 정한 커맨드 id, null 이면 중복 확인 없이 바로 실행한다.
+     */
+    public <T, E extends Exception> T execute(Long gameRoomId, String sessionId, String commandId,
+                                              Command<T, E> command) throws E {
+        if (gameRoomId == null || commandId == null || capacity <= 0) {
+            return command.execute();
+        }
+
+        RoomCache roomCache = roomCaches.computeIfAbsent(gameRoomId, id -> new RoomCache(capacity));
+        String key = sessionId + ":" + commandId;
+
+        Outcome outcome;
+        boolean owner = false;
+        synchronized (roomCache) {
+            long now = clock.getAsLong();
+            outcome = roomCache.get(key);
+            if (outcome == null || outcome.expiresAt <= now) {
+                outcome = new Outcome(now + ttlMillis);
+                roomCache.put(key, outcome);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            duplicateCount.increment();
+            return outcome.await();
+        }
+
+        try {
+            T result = command.execute();
+            outcome.result.complete(result);
+            return result;
+        } catch (GameLogicException e) {
+            outcome.result.completeExceptionally(e);
+            throw e;
+        } catch (Exception e) {
+            forget(roomCache, key, outcome);
+            outcome.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!outcome.result.isDone()) { // Error
+                forget(roomCache, key, outcome);
+                outcome.result.cancel(false);
+            }
+        }
+    }
+
+    @EventListener
+    public void remove(GameRoomEvicted gameRoomEvicted) {
+        roomCaches.remove(gameRoomEvicted.getGameRoomId());
+    }
+
+    /**
+     * 실행하지 않고 기억한 결과로 응답한 횟수
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    private void forget(RoomCache roomCache, String key, Outcome outcome) {
+        synchronized (roomCache) {
+            roomCache.remove(key, outcome);
+        }
+    }
+
+
+    @FunctionalInterface
+    public interface Command<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    private static class Outcome {
+
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Outcome(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T, E extends Exception> T await() throws E {
+            try {
+                return (T) result.join();
+            } catch (CompletionException e) {
+                throw (E) e.getCause();
+            }
+        }
+    }
+
+    private static class RoomCache extends LinkedHashMap<String, Outcome> {
+
+        private final int capacity;
+
+        private RoomCache(int capacity) {
+            super(16, 0.75f, true); // 접근 순서 = LRU
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+            return size() > capacity;
+        }
+    }
+}
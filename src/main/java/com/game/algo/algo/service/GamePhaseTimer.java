@@ -0,0 +1,199 @@
+package com.game.algo.algo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 페이즈 제한시간 처리를 위한 해시드 휠 타이머.
+ * 방마다 스레드를 두지 않고 하나의 틱 스레드가 버킷을 돌면서 만료된 작업을 실행한다.
+ * 등록 / 취소는 큐에 넣기만 하므로 O(1) 이며, 만료 작업은 틱 스레드에서 실행되므로 블로킹되면 안된다.
+ */
+@Slf4j
+@Component
+public class GamePhaseTimer {
+
+    private static final long TICK_MILLIS = 100;
+
+    private static final int WHEEL_SIZE = 512; // 한 바퀴 약 51초
+
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Set<Timeout>> wheel;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    public GamePhaseTimer() {
+        this(TICK_MILLIS, WHEEL_SIZE);
+    }
+
+    GamePhaseTimer(long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2");
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new HashSet<>());
+        }
+
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "game-phase-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        Timeout timeout = new Timeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) {
+                return;
+            }
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            expireTimeouts(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.size();
+
+            long ticks = Math.max(calculated, tick); // 이미 지난 데드라인은 현재 틱에서 처리
+            Set<Timeout> bucket = wheel.get((int) (ticks & mask));
+            bucket.add(timeout);
+            timeout.bucket = bucket;
+        }
+    }
+
+    private void expireTimeouts(Set<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+
+            if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                timeout.bucket = null;
+                timeout.expire();
+            } else if (timeout.isCancelled()) {
+                iterator.remove();
+                timeout.bucket = null;
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+
+    public class Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // 틱 스레드에서만 접근
+        private long remainingRounds;
+        private Set<Timeout> bucket;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("phase timer task fail : {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.game.algo.algo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 방(gameRoomId) 마다 메일박스를 두고, 같은 방의 커맨드는 도착한 순서대로 하나의 논리 스레드에서만 실행한다.
+ * 서로 다른 방은 워커 풀에서 병렬로 처리되며, DB 락 경합 없이 입력이 순서대로 반영된다.
+ * 메일박스의 scheduled 플래그가 곧 방의 차례(소유권)이며, 차례를 가진 쪽(워커 또는 호출 스레드)만 커맨드를 실행한다.
+ */
+@Slf4j
+@Component
+public class GameRoomCommandExecutor {
+
+    private static final int DRAIN_BATCH_SIZE = 32; // 한 방이 워커를 독점하지 않도록
+
+    private static final ThreadLocal<Set<Long>> OWNED_ROOMS = ThreadLocal.withInitial(HashSet::new);
+
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public GameRoomCommandExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "game-room-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> T submit(Long gameRoomId, Supplier<T> command) {
+        if (OWNED_ROOMS.get().contains(gameRoomId)) {
+            return command.get(); // 같은 방의 커맨드 안에서 호출된 경우
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return runInCallerThread(gameRoomId, command);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(gameRoomId, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return await(result);
+    }
+
+    /**
+     * 결과를 기다리지 않고 메일박스에 넣기만 한다. 타이머 스레드처럼 블로킹되면 안되는 곳에서 사용한다.
+     */
+    public void post(Long gameRoomId, Runnable command) {
+        enqueue(gameRoomId, command);
+    }
+
+    /**
+     * 처리중인 메일박스는 바로 지우지 않고 닫아두었다가, 큐가 비어서 차례를 놓을 때 지운다.
+     * 그 사이에 들어온 커맨드도 같은 메일박스에서 순서대로 실행된다.
+     */
+    public void remove(Long gameRoomId) {
+        mailboxes.computeIfPresent(gameRoomId, (id, mailbox) -> {
+            if (mailbox.isIdle()) {
+                return null;
+            }
+            mailbox.closing = true;
+            return mailbox;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * 호출한 쪽의 트랜잭션 안에서 실행되어야 하는 커맨드는 메일박스 차례를 넘겨받아 호출 스레드에서 실행한다.
+     * 차례를 넘긴 워커는 바로 풀로 돌아가고, 호출 스레드가 끝나면 남은 커맨드를 다시 워커에 맡긴다.
+     */
+    private <T> T runInCallerThread(Long gameRoomId, Supplier<T> command) {
+        TurnHandoff turnHandoff = new TurnHandoff();
+        Mailbox mailbox = enqueue(gameRoomId, turnHandoff);
+        turnHandoff.turn.join();
+
+        OWNED_ROOMS.get().add(gameRoomId);
+        try {
+            return command.get();
+        } finally {
+            OWNED_ROOMS.get().remove(gameRoomId);
+            mailbox.release();
+        }
+    }
+
+    /**
+     * 큐에 넣는 것과 닫힌 메일박스를 지우는 것이 같은 버킷 락 안에서 일어나므로, 지워진 메일박스에 커맨드가 들어가지 않는다.
+     */
+    private Mailbox enqueue(Long gameRoomId, Runnable task) {
+        Mailbox mailbox = mailboxes.compute(gameRoomId, (id, present) -> {
+            Mailbox target = (present != null) ? present : new Mailbox(id);
+            target.queue.add(task);
+            return target;
+        });
+        mailbox.schedule();
+        return mailbox;
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+
+
+    private class Mailbox {
+
+        private final Long gameRoomId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean closing; // remove 가 호출됨, 비면 지운다
+
+        private Mailbox(Long gameRoomId) {
+            this.gameRoomId = gameRoomId;
+        }
+
+        private boolean isIdle() {
+            return !scheduled.get() && queue.isEmpty();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            OWNED_ROOMS.get().add(gameRoomId);
+            try {
+                for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                    Runnable task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    if (task instanceof TurnHandoff turnHandoff) {
+                        turnHandoff.turn.complete(null); // 차례를 호출 스레드에 넘긴다, release 는 호출 스레드가 한다
+                        return;
+                    }
+                    runSafely(task);
+                }
+            } finally {
+                OWNED_ROOMS.get().remove(gameRoomId);
+            }
+
+            release();
+        }
+
+        /**
+         * 차례를 놓는다. 남은 커맨드가 있으면 다시 워커에 맡기고, 닫힌 메일박스가 비었으면 지운다.
+         */
+        private void release() {
+            if (closing) {
+                mailboxes.computeIfPresent(gameRoomId, (id, mailbox) -> (mailbox == this && queue.isEmpty()) ? null : mailbox);
+            }
+            scheduled.set(false);
+
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void runSafely(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("game room command fail : gameRoomId:{} / {}", gameRoomId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 메일박스에서 이 차례가 오면 워커는 실행하지 않고 호출 스레드에 차례를 넘긴다.
+     */
+    private static class TurnHandoff implements Runnable {
+
+        private final CompletableFuture<Void> turn = new CompletableFuture<>();
+
+        @Override
+        public void run() {
+            throw new IllegalStateException("turn handoff must not run");
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.game.algo.algo.data.BlockColor;
 import com.game.algo.algo.data.GameProperty;
 import com.game.algo.algo.data.GameStatusUpdateCommand;
 import com.game.algo.algo.dto.response.GameRoomSimple;
+import com.game.algo.algo.dto.response.GameStatusData;
+import com.game.algo.algo.dto.response.ResponseGameData;
 import com.game.algo.algo.entity.Block;
 import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
@@ -11,13 +13,18 @@ import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.algo.repository.GameRoomRepository;
 import com.game.algo.algo.repository.PlayerRepository;
+import com.game.algo.algo.service.GameStatusSequencer.StatusCapture;
+import com.game.algo.websocket.data.SessionMember;
+import com.game.algo.websocket.service.SessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +32,12 @@ import java.util.stream.Collectors;
 public class GameRoomServiceImpl implements GameRoomService {
 
     private final ApplicationEventPublisher eventPublisher;
+    private final GameRoomStateEngine gameRoomStateEngine;
+    private final GameStatusSequencer gameStatusSequencer;
+    private final GameRoomWriteBehindPersister gameRoomWriteBehindPersister;
     private final GameRoomRepository gameRoomRepository;
     private final PlayerRepository playerRepository; // 임시방편
+    private final SessionRegistry sessionRegistry;
 
     @Override
     @Transactional
@@ -36,10 +47,8 @@ public class GameRoomServiceImpl implements GameRoomService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public GameRoom findById(Long id) {
-        return gameRoomRepository.findById(id)
-                .orElseThrow(() -> new GameLogicException(GameExceptionCode.GAME_ROOM_NOT_FOUND));
+        return gameRoomStateEngine.find(id);
     }
 
     @Override
@@ -51,76 +60,196 @@ public class GameRoomServiceImpl implements GameRoomService {
     @Override
     @Transactional
     public void deleteById(Long id) {
+        gameRoomStateEngine.evict(id);
         gameRoomRepository.deleteById(id);
     }
 
     @Override
-    @Transactional
     public void gameStart(Long gameRoomId) {
-        GameRoom findGameRoom = findById(gameRoomId);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            validGameStart(findGameRoom);
 
-         validGameStart(findGameRoom);
+            findGameRoom.gameReset();
+            findGameRoom.randomSetPlayerOrder();
+            findGameRoom.updatePhase(GameRoom.Phase.SETTING);
 
-        findGameRoom.gameReset();
-        findGameRoom.randomSetPlayerOrder();
-        findGameRoom.updatePhase(GameRoom.Phase.SETTING);
-
-        sendGameStatusUpdateCommand(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
     }
 
     @Override
-    @Transactional
     public void endSettingPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.SETTING);
+            validJoinPlayer(findGameRoom, sessionId);
 
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.SETTING);
-        validJoinPlayer(findGameRoom, sessionId);
+            endSettingPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
 
-        findGameRoom.allPlayerReadyOff();
-        findGameRoom.updatePhase(GameRoom.Phase.START);
+    @Override
+    public void autoProgressAtStartPhase(Long gameRoomId) {
+        gameRoomStateEngine.execute(gameRoomId, this::autoProgressAtStartPhase);
+    }
 
-        sendGameStatusUpdateCommand(findGameRoom);
+    @Override
+    public void serveRandomBlocks(GameRoom gameRoom, Player player, BlockColor blockColor, int count) {
+        while (count-- > 0) player.addBlock(gameRoom.drawRandomBlock(blockColor));
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void autoProgressAtStartPhase(Long gameRoomId) {
-        GameRoom findGameRoom = findById(gameRoomId);
-        Player player = findGameRoom.getProgressPlayer();
+    public void endStartPhase(Long gameRoomId, String sessionId) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.START);
+            validJoinPlayer(findGameRoom, sessionId);
 
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.START);
-        if (player.isReady()) {
-            return;
-        }
+            endStartPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
 
-        int count = GameProperty.numberOfBlockAtStart(findGameRoom.getPlayerList().size());
-        double randomValue = Math.random();
+    @Override
+    public void autoProgressAtDrawPhase(Long gameRoomId) {
+        gameRoomStateEngine.execute(gameRoomId, this::autoProgressAtDrawPhase);
+    }
 
-        int whiteBlockCount = (int) (randomValue * (count + 1));
-        int blackBlockCount = count - whiteBlockCount;
+    @Override
+    public void endDrawPhase(Long gameRoomId, String sessionId) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.DRAW);
+            validJoinPlayer(findGameRoom, sessionId);
 
-        serveRandomBlocks(findGameRoom, player, BlockColor.WHITE, whiteBlockCount);
-        serveRandomBlocks(findGameRoom, player, BlockColor.BLACK, blackBlockCount);
+            endDrawPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
 
-        player.updateReady(true);
+    @Override
+    public void endSortPhase(Long gameRoomId, String sessionId) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.SORT);
+            validJoinPlayer(findGameRoom, sessionId);
+
+            endSortPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
+
+    @Override
+    public void endGuessPhase(Long gameRoomId, String sessionId) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.GUESS);
+            validJoinPlayer(findGameRoom, sessionId);
+
+            endGuessPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
+
+    @Override
+    public void endRepeatPhase(Long gameRoomId, String sessionId, boolean repeatGuess) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.REPEAT);
+            validJoinPlayer(findGameRoom, sessionId);
+
+            endRepeatPhase(findGameRoom, repeatGuess);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
+    }
+
+    @Override
+    public void endEndPhase(Long gameRoomId, String sessionId) {
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.END);
+            validJoinPlayer(findGameRoom, sessionId);
+
+            endEndPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+        });
     }
 
     @Override
     @Transactional
-    public void serveRandomBlocks(GameRoom gameRoom, Player player, BlockColor blockColor, int count) {
-        while (count-- > 0) player.addBlock(gameRoom.drawRandomBlock(blockColor));
+    public void endGameOverPhase(Long gameRoomId, String sessionId) {
+        Runnable deleteDisconnectPlayer = gameRoomStateEngine.executeAndGet(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, GameRoom.Phase.GAMEOVER);
+            validJoinPlayer(findGameRoom, sessionId);
+
+            Runnable delete = endGameOverPhase(findGameRoom);
+            sendGameStatusUpdateCommand(findGameRoom);
+            return delete;
+        });
+
+        deleteDisconnectPlayer.run(); // 메일박스 밖에서, 이 메서드의 트랜잭션으로 삭제
     }
 
+    /**
+     * 페이즈 제한시간이 지나면 GamePhaseTimer 가 호출한다.
+     * 진행중인 플레이어가 입력하지 않은 경우로 보고, 해당 페이즈의 기본 동작으로 진행시킨다.
+     * 상태만 바꾸고 GameStatusSequencer 의 delta / PhaseUpdate 로만 보낸다. GameData 까지 보내면 전환마다 플레이어당 두 프레임이 나간다.
+     */
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endStartPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
+    public void expirePhase(Long gameRoomId, long phaseSequence) {
+        gameRoomStateEngine.executeAsync(gameRoomId, findGameRoom -> {
+            if (!gameRoomStateEngine.isCurrentPhaseDeadline(gameRoomId, phaseSequence)) {
+                return null; // 타이머 만료와 동시에 이미 다음 페이즈로 넘어간 경우
+            }
+
+            GameRoom.Phase expiredPhase = findGameRoom.getPhase();
+            switch (expiredPhase) {
+                case SETTING:
+                    endSettingPhase(findGameRoom);
+                    break;
+                case START:
+                    endStartPhase(findGameRoom);
+                    break;
+                case DRAW:
+                    endDrawPhase(findGameRoom);
+                    break;
+                case SORT:
+                    endSortPhase(findGameRoom);
+                    break;
+                case GUESS:
+                    endGuessPhase(findGameRoom);
+                    break;
+                case REPEAT:
+                    endRepeatPhase(findGameRoom, false);
+                    break;
+                case END:
+                    endEndPhase(findGameRoom);
+                    break;
+                case GAMEOVER:
+                    gameRoomWriteBehindPersister.deleteLater(endGameOverPhase(findGameRoom));
+                    break;
+                default:
+                    return null;
+            }
+
+            return captureExpiredPhase(findGameRoom, expiredPhase);
+        }, Runnable::run);
+    }
 
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.START);
-        validJoinPlayer(findGameRoom, sessionId);
+    @Override
+    public void sendGameStatusUpdateCommand(GameRoom gameRoom) {
+        GameStatusData gameStatusData = GameStatusData.from(gameRoom);
+
+        Map<String, ResponseGameData> gameDataMap = new LinkedHashMap<>();
+        gameRoom.getPlayerList().stream()
+                .filter(player -> player.getWebSocketSessionId() != null)
+                .forEach(player -> gameDataMap.put(player.getWebSocketSessionId(), ResponseGameData.from(player, gameStatusData)));
+
+        eventPublisher.publishEvent(GameStatusUpdateCommand.create(gameDataMap));
+    }
+
+    private void endSettingPhase(GameRoom findGameRoom) {
+        findGameRoom.allPlayerReadyOff();
+        findGameRoom.updatePhase(GameRoom.Phase.START);
+    }
 
+    private void endStartPhase(GameRoom findGameRoom) {
         if (!findGameRoom.getProgressPlayer().isReady()) {
-            autoProgressAtStartPhase(gameRoomId);
+            autoProgressAtStartPhase(findGameRoom);
         }
 
         if (findGameRoom.areAllPlayersReady()) {
@@ -131,69 +260,23 @@ public class GameRoomServiceImpl implements GameRoomService {
         } else {
             findGameRoom.nextPlayer();
         }
-
-        sendGameStatusUpdateCommand(findGameRoom);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void autoProgressAtDrawPhase(Long gameRoomId) {
-        GameRoom findGameRoom = findById(gameRoomId);
-        Player findPlayer = findGameRoom.getProgressPlayer();
-
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.DRAW);
-        if (findPlayer.isReady()) {
-            return;
-        }
-
-        double randomValue = Math.random();
-        BlockColor blockColor = (randomValue * 2 < 1) ? BlockColor.WHITE : BlockColor.BLACK;
-
-        Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
-        findPlayer.addBlock(drawBlock);
-        findPlayer.updateReady(true);
-    }
-
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endDrawPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.DRAW);
-        validJoinPlayer(findGameRoom, sessionId);
-
+    private void endDrawPhase(GameRoom findGameRoom) {
         if (!findGameRoom.getProgressPlayer().isReady()) {
-            autoProgressAtDrawPhase(gameRoomId);
+            autoProgressAtDrawPhase(findGameRoom);
         }
 
         findGameRoom.updatePhase(GameRoom.Phase.SORT);
         findGameRoom.allPlayerReadyOff();
-
-        sendGameStatusUpdateCommand(findGameRoom);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endSortPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.SORT);
-        validJoinPlayer(findGameRoom, sessionId);
-
+    private void endSortPhase(GameRoom findGameRoom) {
         findGameRoom.updatePhase(GameRoom.Phase.GUESS);
         findGameRoom.allPlayerReadyOff();
-
-        sendGameStatusUpdateCommand(findGameRoom);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endGuessPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.GUESS);
-        validJoinPlayer(findGameRoom, sessionId);
-
+    private void endGuessPhase(GameRoom findGameRoom) {
         Player progressPlayer = findGameRoom.getProgressPlayer();
 
         if (progressPlayer.isReady()) {
@@ -204,64 +287,93 @@ public class GameRoomServiceImpl implements GameRoomService {
         }
         checkGameOver(findGameRoom);
         progressPlayer.updateReady(false);
-
-        sendGameStatusUpdateCommand(findGameRoom);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endRepeatPhase(Long gameRoomId, String sessionId, boolean repeatGuess) {
-        GameRoom findGameRoom = findById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.REPEAT);
-        validJoinPlayer(findGameRoom, sessionId);
-
+    private void endRepeatPhase(GameRoom findGameRoom, boolean repeatGuess) {
         if (repeatGuess) {
             findGameRoom.updatePhase(GameRoom.Phase.GUESS);
         } else {
             findGameRoom.updatePhase(GameRoom.Phase.END);
         }
+    }
 
-        sendGameStatusUpdateCommand(findGameRoom);
+    private void endEndPhase(GameRoom findGameRoom) {
+        findGameRoom.nextPlayer();
+        findGameRoom.updatePhase(GameRoom.Phase.DRAW);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endEndPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
+    /**
+     * @return 연결이 끊긴 플레이어 (와 빈 방) 의 DB 삭제. 메일박스 밖에서 트랜잭션 안에 실행해야 한다.
+     */
+    private Runnable endGameOverPhase(GameRoom findGameRoom) {
+        findGameRoom.updatePhase(GameRoom.Phase.WAIT);
+        findGameRoom.gameReset();
+        findGameRoom.getPlayerList().forEach(Player::gameReset);
 
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.END);
-        validJoinPlayer(findGameRoom, sessionId);
+        return banDisconnectPlayer(findGameRoom);
+    }
 
-        findGameRoom.nextPlayer();
-        findGameRoom.updatePhase(GameRoom.Phase.DRAW);
+    private void autoProgressAtStartPhase(GameRoom findGameRoom) {
+        Player player = findGameRoom.getProgressPlayer();
 
-        sendGameStatusUpdateCommand(findGameRoom);
+        checkGamePhaseSync(findGameRoom, GameRoom.Phase.START);
+        if (player.isReady()) {
+            return;
+        }
+
+        int count = GameProperty.numberOfBlockAtStart(findGameRoom.getPlayerList().size());
+        double randomValue = Math.random();
+
+        int whiteBlockCount = (int) (randomValue * (count + 1));
+        int blackBlockCount = count - whiteBlockCount;
+
+        serveRandomBlocks(findGameRoom, player, BlockColor.WHITE, whiteBlockCount);
+        serveRandomBlocks(findGameRoom, player, BlockColor.BLACK, blackBlockCount);
+
+        player.updateReady(true);
     }
 
-    @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
-    public void endGameOverPhase(Long gameRoomId, String sessionId) {
-        GameRoom findGameRoom = findById(gameRoomId);
+    private void autoProgressAtDrawPhase(GameRoom findGameRoom) {
+        Player findPlayer = findGameRoom.getProgressPlayer();
 
-        checkGamePhaseSync(findGameRoom, GameRoom.Phase.GAMEOVER);
-        validJoinPlayer(findGameRoom, sessionId);
+        checkGamePhaseSync(findGameRoom, GameRoom.Phase.DRAW);
+        if (findPlayer.isReady()) {
+            return;
+        }
 
-        findGameRoom.updatePhase(GameRoom.Phase.WAIT);
-        findGameRoom.gameReset();
-        findGameRoom.getPlayerList().forEach(Player::gameReset);
+        double randomValue = Math.random();
+        BlockColor blockColor = (randomValue * 2 < 1) ? BlockColor.WHITE : BlockColor.BLACK;
 
-        banDisconnectPlayer(findGameRoom);
+        Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
+        findPlayer.addBlock(drawBlock);
+        findPlayer.updateReady(true);
+    }
+
+    /**
+     * 메일박스 안에서 상태를 복사하고, 보내는 작업을 돌려준다.
+     * 컨트롤러의 end 시리즈와 같은 구성으로 보낸다. 게임 종료 후 빈 방이 삭제됐으면 보내지 않는다.
+     */
+    private Runnable captureExpiredPhase(GameRoom gameRoom, GameRoom.Phase expiredPhase) {
+        if (!gameRoomStateEngine.isLive(gameRoom.getId())) {
+            return null;
+        }
 
-        sendGameStatusUpdateCommand(findGameRoom);
+        switch (expiredPhase) {
+            case START:
+            case SORT:
+                return publishPhaseUpdate(gameStatusSequencer.capturePhaseUpdate(gameRoom, true, false));
+            case DRAW:
+                return publishPhaseUpdate(gameStatusSequencer.capturePhaseUpdate(gameRoom, true, true));
+            case GAMEOVER:
+                StatusCapture capture = gameStatusSequencer.capture(gameRoom);
+                return () -> gameStatusSequencer.publish(capture);
+            default:
+                return publishPhaseUpdate(gameStatusSequencer.capturePhaseUpdate(gameRoom, false, false));
+        }
     }
 
-    @Override
-    public void sendGameStatusUpdateCommand(GameRoom gameRoom) {
-        List<String> sessionIdList = gameRoom.getPlayerList().stream()
-                .map(Player::getWebSocketSessionId)
-                .toList();
-        eventPublisher.publishEvent(GameStatusUpdateCommand.create(sessionIdList));
+    private Runnable publishPhaseUpdate(StatusCapture capture) {
+        return () -> gameStatusSequencer.publishPhaseUpdate(capture);
     }
 
     private void validGameStart(GameRoom findGameRoom) {
@@ -273,7 +385,18 @@ public class GameRoomServiceImpl implements GameRoomService {
         }
     }
 
+    /**
+     * 인덱스에 있는 세션은 방 번호만 비교하고, 등록되지 않은 세션만 방의 플레이어 목록을 훑는다.
+     */
     private void validJoinPlayer(GameRoom gameRoom, String sessionId) {
+        SessionMember member = sessionRegistry.findMember(sessionId).orElse(null);
+        if (member != null) {
+            if (!Objects.equals(member.getGameRoomId(), gameRoom.getId())) {
+                throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
+            }
+            return;
+        }
+
         if (gameRoom.getPlayerList().stream().map(Player::getWebSocketSessionId).noneMatch(s -> s.equals(sessionId))) {
             throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
         }
@@ -291,19 +414,32 @@ public class GameRoomServiceImpl implements GameRoomService {
         }
     }
 
-    private void banDisconnectPlayer(GameRoom gameRoom) {
+    /**
+     * 메모리의 방에서는 바로 내보내고, DB 삭제는 실행하지 않고 돌려준다.
+     */
+    private Runnable banDisconnectPlayer(GameRoom gameRoom) {
         List<Player> disconnectPlayer = gameRoom.getPlayerList().stream()
                 .filter(player -> player.getWebSocketSessionId().equals("disconnect"))
                 .collect(Collectors.toList());
 
         disconnectPlayer.forEach(Player::exit);
-        playerRepository.deleteAll(disconnectPlayer); // gameRoom에서 exit 시킨다음 batch 돌려서 삭제하는 편이 나을듯
-        deleteEmptyGameRoom(gameRoom);
+        List<Long> disconnectPlayerIds = disconnectPlayer.stream().map(Player::getId).toList();
+        boolean deleteGameRoom = evictEmptyGameRoom(gameRoom);
+        Long gameRoomId = gameRoom.getId();
+
+        return () -> {
+            playerRepository.deleteAll(playerRepository.findAllById(disconnectPlayerIds)); // gameRoom에서 exit 시킨다음 batch 돌려서 삭제하는 편이 나을듯
+            if (deleteGameRoom) {
+                gameRoomRepository.findById(gameRoomId).ifPresent(gameRoomRepository::delete);
+            }
+        };
     }
 
-    private void deleteEmptyGameRoom(GameRoom gameRoom) {
+    private boolean evictEmptyGameRoom(GameRoom gameRoom) {
         if (gameRoom.getPlayerList().stream().allMatch(player -> player.getWebSocketSessionId().equals("disconnect"))) {
-            gameRoomRepository.delete(gameRoom);
+            gameRoomStateEngine.evict(gameRoom.getId());
+            return true;
         }
+        return false;
     }
 }
@@ -0,0 +1,296 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.data.GameProperty;
+import com.game.algo.algo.data.GamePhaseTimeout;
+import com.game.algo.algo.data.GameRoomEvicted;
+import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.algo.entity.Player;
+import com.game.algo.algo.exception.GameExceptionCode;
+import com.game.algo.algo.exception.GameLogicException;
+import com.game.algo.algo.repository.GameRoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 게임이 진행되는 동안 GameRoom / Player 의 상태는 메모리에 있는 객체가 원본이 된다.
+ * DB 는 최초 로딩과 내구성(write-behind) 용도로만 사용하고, 변경된 방은 dirty 로 표시해 두었다가
+ * GameRoomWriteBehindPersister 가 비동기로 저장한다.
+ * 방의 상태를 바꾸는 커맨드는 GameRoomCommandExecutor 를 통해 방 단위로 직렬화된다.
+ * 커맨드로 페이즈(또는 진행 플레이어)가 바뀌면 GamePhaseTimer 에 해당 페이즈의 제한시간을 다시 건다.
+ * 방이 삭제될 때는 evict 한 곳에서 정리하고, 방 단위 상태를 가진 다른 컴포넌트는 GameRoomEvicted 를 받아서 정리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameRoomStateEngine {
+
+    private final Map<Long, GameRoom> liveGameRooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> livePlayerRoomIds = new ConcurrentHashMap<>(); // playerId -> gameRoomId, 방을 나간 Player 는 조회할 때 정리된다
+    private final Set<Long> dirtyGameRoomIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, PhaseDeadline> phaseDeadlines = new ConcurrentHashMap<>();
+    private final AtomicLong phaseSequence = new AtomicLong();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameRoomRepository gameRoomRepository;
+    private final GameRoomCommandExecutor gameRoomCommandExecutor;
+    private final GamePhaseTimer gamePhaseTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    public GameRoom find(Long gameRoomId) {
+        GameRoom liveGameRoom = liveGameRooms.get(gameRoomId);
+        if (liveGameRoom != null) {
+            return liveGameRoom;
+        }
+
+        GameRoom loadGameRoom = gameRoomRepository.findById(gameRoomId)
+                .orElseThrow(() -> new GameLogicException(GameExceptionCode.GAME_ROOM_NOT_FOUND));
+        Hibernate.initialize(loadGameRoom.getPlayerList()); // 이미 영속성 컨텍스트에 있던 경우 대비
+
+        GameRoom previous = liveGameRooms.putIfAbsent(gameRoomId, loadGameRoom);
+        if (previous != null) {
+            return previous;
+        }
+        indexPlayers(loadGameRoom);
+        return loadGameRoom;
+    }
+
+    /**
+     * DB 에서 읽어온 Player 를 메모리에 올라가 있는 같은 Player 로 바꿔준다.
+     * 방에 참여하지 않은 Player 는 그대로 반환한다.
+     */
+    public Player resolvePlayer(Player player) {
+        if (player.getGameRoom() == null) {
+            return player;
+        }
+
+        return find(player.getGameRoom().getId())
+                .findPlayer(player.getId())
+                .orElse(player);
+    }
+
+    /**
+     * 메모리에 올라가 있는 방에서만 찾는다. 방에 참여하지 않았거나 방이 아직 로드되지 않았으면 empty
+     */
+    public Optional<Player> findLivePlayer(Long playerId) {
+        Long gameRoomId = livePlayerRoomIds.get(playerId);
+        if (gameRoomId == null) {
+            return Optional.empty();
+        }
+
+        Optional<Player> livePlayer = findLivePlayer(gameRoomId, playerId);
+        if (livePlayer.isEmpty()) {
+            livePlayerRoomIds.remove(playerId, gameRoomId); // 방을 나간 Player
+        }
+        return livePlayer;
+    }
+
+    private Optional<Player> findLivePlayer(Long gameRoomId, Long playerId) {
+        GameRoom liveGameRoom = liveGameRooms.get(gameRoomId);
+        return (liveGameRoom == null) ? Optional.empty() : liveGameRoom.findPlayer(playerId);
+    }
+
+    public boolean isLive(Long gameRoomId) {
+        return liveGameRooms.containsKey(gameRoomId);
+    }
+
+    public void execute(Long gameRoomId, Consumer<GameRoom> command) {
+        executeAndGet(gameRoomId, gameRoom -> {
+            command.accept(gameRoom);
+            return null;
+        });
+    }
+
+    public <T> T executeAndGet(Long gameRoomId, Function<GameRoom, T> command) {
+        GameRoom gameRoom = find(gameRoomId);
+
+        return gameRoomCommandExecutor.submit(gameRoomId, () -> apply(gameRoom, command));
+    }
+
+    /**
+     * 상태를 바꾸지 않고 읽기만 하는 커맨드. 다른 커맨드와 같은 메일박스에서 실행되므로 읽는 도중에 상태가 바뀌지 않는다.
+     * dirty 표시나 페이즈 타이머는 건드리지 않는다.
+     */
+    public <T> T read(Long gameRoomId, Function<GameRoom, T> reader) {
+        GameRoom gameRoom = find(gameRoomId);
+
+        return gameRoomCommandExecutor.submit(gameRoomId, () -> reader.apply(gameRoom));
+    }
+
+    /**
+     * 메모리에 올라와 있는 방에 대해서만, 결과를 기다리지 않고 커맨드를 실행한다.
+     */
+    public void executeAsync(Long gameRoomId, Consumer<GameRoom> command) {
+        executeAsync(gameRoomId, findGameRoom -> {
+            command.accept(findGameRoom);
+            return null;
+        }, result -> {});
+    }
+
+    /**
+     * 커맨드가 끝나고(dirty 표시, 페이즈 타이머 갱신 후) null 이 아닌 결과를 afterCommand 에 넘긴다.
+     * afterCommand 는 같은 워커에서 이어서 실행되므로 송신 큐에 넣는 정도의 짧은 작업만 해야 한다.
+     */
+    public <T> void executeAsync(Long gameRoomId, Function<GameRoom, T> command, Consumer<T> afterCommand) {
+        gameRoomCommandExecutor.post(gameRoomId, () -> {
+            GameRoom gameRoom = liveGameRooms.get(gameRoomId);
+            if (gameRoom == null) {
+                return;
+            }
+            T result = apply(gameRoom, command);
+            if (result != null) {
+                afterCommand.accept(result);
+            }
+        });
+    }
+
+    /**
+     * 타이머가 만료된 시점에 이미 다음 페이즈로 넘어갔다면 false.
+     * 방의 커맨드 안에서 호출해야 한다.
+     */
+    public boolean isCurrentPhaseDeadline(Long gameRoomId, long sequence) {
+        PhaseDeadline phaseDeadline = phaseDeadlines.get(gameRoomId);
+        return phaseDeadline != null && phaseDeadline.sequence == sequence;
+    }
+
+    /**
+     * 복사하는 동안 방의 상태가 바뀌지 않도록 커맨드와 같은 메일박스에서 저장용 복사본을 만든다.
+     * DB 저장은 복사본으로 메일박스 밖에서 하므로, 저장하는 동안 방의 커맨드가 기다리지 않는다.
+     */
+    public Optional<GameRoom> snapshot(Long gameRoomId) {
+        GameRoom gameRoom = liveGameRooms.get(gameRoomId);
+        if (gameRoom == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(gameRoomCommandExecutor.submit(gameRoomId, gameRoom::copyForPersist));
+    }
+
+    public void markDirty(Long gameRoomId) {
+        dirtyGameRoomIds.add(gameRoomId);
+    }
+
+    public List<Long> drainDirtyGameRoomIds() {
+        List<Long> drainIds = new ArrayList<>(dirtyGameRoomIds);
+        drainIds.forEach(dirtyGameRoomIds::remove);
+        return drainIds;
+    }
+
+    /**
+     * 방을 삭제하는 모든 경로는 이 메서드를 거친다.
+     */
+    public void evict(Long gameRoomId) {
+        GameRoom evictGameRoom = liveGameRooms.remove(gameRoomId);
+        if (evictGameRoom != null) {
+            evictGameRoom.getPlayerList().forEach(player -> livePlayerRoomIds.remove(player.getId(), gameRoomId));
+        }
+        dirtyGameRoomIds.remove(gameRoomId);
+        cancelPhaseDeadline(gameRoomId);
+        gameRoomCommandExecutor.remove(gameRoomId);
+        eventPublisher.publishEvent(GameRoomEvicted.create(gameRoomId));
+    }
+
+    /**
+     * 커맨드가 예외를 던지면 실행 전 상태로 되돌리고 dirty 로 표시하지 않는다. (트랜잭션 롤백을 대신한다)
+     */
+    private <T> T apply(GameRoom gameRoom, Function<GameRoom, T> command) {
+        GameRoom.Phase beforePhase = gameRoom.getPhase();
+        Integer beforeProgressPlayerNumber = gameRoom.getProgressPlayerNumber();
+        GameRoom beforeGameRoom = gameRoom.copyForPersist();
+        List<Player> beforePlayerList = new ArrayList<>(gameRoom.getPlayerList());
+
+        T result;
+        try {
+            result = command.apply(gameRoom);
+        } catch (RuntimeException | Error e) {
+            gameRoom.restore(beforeGameRoom, beforePlayerList);
+            throw e;
+        }
+
+        markDirty(gameRoom);
+        indexPlayers(gameRoom);
+        if (beforePhase != gameRoom.getPhase()
+                || !Objects.equals(beforeProgressPlayerNumber, gameRoom.getProgressPlayerNumber())) {
+            rearmPhaseDeadline(gameRoom);
+        }
+        return result;
+    }
+
+    private void rearmPhaseDeadline(GameRoom gameRoom) {
+        Long gameRoomId = gameRoom.getId();
+        cancelPhaseDeadline(gameRoomId);
+
+        if (gameRoomId == null || liveGameRooms.get(gameRoomId) != gameRoom || gameRoom.getPhase() == GameRoom.Phase.WAIT) {
+            return;
+        }
+
+        long sequence = phaseSequence.incrementAndGet();
+        long delayMillis = TimeUnit.SECONDS.toMillis(gameRoom.getPhase().getWaitTime()) + GameProperty.PHASE_TIMEOUT_GRACE_MILLIS;
+        GamePhaseTimeout gamePhaseTimeout = GamePhaseTimeout.create(gameRoomId, gameRoom.getPhase(), sequence);
+
+        GamePhaseTimer.Timeout timeout = gamePhaseTimer.schedule(() -> eventPublisher.publishEvent(gamePhaseTimeout), delayMillis);
+        phaseDeadlines.put(gameRoomId, new PhaseDeadline(sequence, timeout));
+    }
+
+    private void cancelPhaseDeadline(Long gameRoomId) {
+        if (gameRoomId == null) {
+            return;
+        }
+        PhaseDeadline previous = phaseDeadlines.remove(gameRoomId);
+        if (previous != null) {
+            previous.timeout.cancel();
+        }
+    }
+
+    private void indexPlayers(GameRoom gameRoom) {
+        if (gameRoom.getId() == null || liveGameRooms.get(gameRoom.getId()) != gameRoom) {
+            return;
+        }
+        for (Player player : gameRoom.getPlayerList()) {
+            if (player.getId() != null) {
+                livePlayerRoomIds.put(player.getId(), gameRoom.getId());
+            }
+        }
+    }
+
+    private void markDirty(GameRoom gameRoom) {
+        if (gameRoom.getId() == null || liveGameRooms.get(gameRoom.getId()) != gameRoom) {
+            return; // 삭제된 방
+        }
+        // 현재 트랜잭션이 관리중인 객체라면 커밋 시점에 같이 저장된다.
+        if (TransactionSynchronizationManager.isActualTransactionActive() && entityManager.contains(gameRoom)) {
+            return;
+        }
+        dirtyGameRoomIds.add(gameRoom.getId());
+    }
+
+
+    private static class PhaseDeadline {
+
+        private final long sequence;
+        private final GamePhaseTimer.Timeout timeout;
+
+        private PhaseDeadline(long sequence, GamePhaseTimer.Timeout timeout) {
+            this.sequence = sequence;
+            this.timeout = timeout;
+        }
+    }
+}
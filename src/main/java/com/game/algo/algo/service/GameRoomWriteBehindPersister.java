@@ -0,0 +1,64 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.repository.GameRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameRoomWriteBehindPersister {
+
+    private final GameRoomStateEngine gameRoomStateEngine;
+    private final GameRoomRepository gameRoomRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Queue<Runnable> pendingDeletes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 메일박스 안에서 정한 DB 삭제를 다음 flush 때 저장 뒤에 한 트랜잭션으로 실행한다.
+     * 트랜잭션 없이 방의 워커에서 돌던 삭제가 메일박스를 DB I/O 로 붙잡지 않게 한다.
+     */
+    public void deleteLater(Runnable delete) {
+        pendingDeletes.add(delete);
+    }
+
+    @Scheduled(fixedDelayString = "${algo.room-state.flush-delay-ms:200}")
+    public void flush() {
+        for (Long gameRoomId : gameRoomStateEngine.drainDirtyGameRoomIds()) {
+            try {
+                gameRoomStateEngine.snapshot(gameRoomId)
+                        .ifPresent(snapshot -> transactionTemplate.executeWithoutResult(status -> {
+                            gameRoomRepository.save(snapshot);
+                            if (!gameRoomStateEngine.isLive(gameRoomId)) {
+                                status.setRollbackOnly(); // 복사하고 저장하는 사이에 삭제된 방
+                            }
+                        }));
+            } catch (Exception e) {
+                log.error("write-behind flush fail : gameRoomId:{} / {}", gameRoomId, e.getMessage());
+                gameRoomStateEngine.markDirty(gameRoomId); // 다음 주기에 재시도
+            }
+        }
+
+        for (Runnable delete = pendingDeletes.poll(); delete != null; delete = pendingDeletes.poll()) {
+            Runnable pendingDelete = delete;
+            try {
+                transactionTemplate.executeWithoutResult(status -> pendingDelete.run());
+            } catch (Exception e) {
+                log.error("write-behind delete fail : {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
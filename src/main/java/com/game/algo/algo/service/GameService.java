@@ -6,6 +6,8 @@ import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.function.Function;
+
 public interface GameService {
 
     Long createPlayer(String name, String webSocketSessionId);
@@ -21,6 +23,8 @@ public interface GameService {
 
     GameRoom findGameRoomById(Long id);
 
+    <T> T readGameRoom(Long id, Function<GameRoom, T> reader);
+
     GameRoomFind findGameRoomsNotGameStart(int page, int size);
 
     void updatePlayerReady(Long playerId, boolean isReady);
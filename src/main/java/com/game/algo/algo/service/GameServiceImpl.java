@@ -9,15 +9,17 @@ import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.algo.repository.GameRoomRepository;
 import com.game.algo.algo.repository.PlayerRepository;
+import com.game.algo.websocket.data.SessionMember;
+import com.game.algo.websocket.service.SessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -34,29 +36,66 @@ import static com.game.algo.algo.entity.GameRoom.*;
 @RequiredArgsConstructor
 public class GameServiceImpl implements GameService {
 
+    private final GameRoomStateEngine gameRoomStateEngine;
     private final GameRoomRepository gameRoomRepository;
     private final PlayerRepository playerRepository;
+    private final SessionRegistry sessionRegistry;
 
     public Long createPlayer(String name, String webSocketSessionId) {
         Player player = Player.create(name, webSocketSessionId);
-        return playerRepository.save(player).getId();
+        Long playerId = playerRepository.save(player).getId();
+
+        sessionRegistry.bindPlayer(webSocketSessionId, playerId, null);
+        return playerId;
     }
 
     @Transactional
     public void setSessionIdForPlayer(Long playerId, String sessionId) {
-        findPlayerById(playerId).setWebSocketSessionId(sessionId);
+        Player findPlayer = playerRepository.findById(playerId)
+                .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+
+        findPlayer.setWebSocketSessionId(sessionId);
+
+        Long gameRoomId = (findPlayer.getGameRoom() == null) ? null : findPlayer.getGameRoom().getId();
+        if (gameRoomId != null) { // 방에 참여중이면 메모리의 Player 를 방의 메일박스에서 바꾸고 dirty 로 표시한다
+            gameRoomStateEngine.execute(gameRoomId, gameRoom -> gameRoom.findPlayer(playerId)
+                    .ifPresent(livePlayer -> livePlayer.setWebSocketSessionId(sessionId)));
+        }
+
+        sessionRegistry.bindPlayer(sessionId, playerId, gameRoomId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 메모리의 방에 참여중인 Player 는 DB 를 조회하지 않는다.
+     */
     public Player findPlayerById(Long id) {
-        return playerRepository.findById(id)
+        Player livePlayer = gameRoomStateEngine.findLivePlayer(id).orElse(null);
+        if (livePlayer != null) {
+            return livePlayer;
+        }
+
+        Player findPlayer = playerRepository.findById(id)
                 .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+        return gameRoomStateEngine.resolvePlayer(findPlayer);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 세션에 묶인 Player 가 메모리의 방에 있으면 바로 찾고, 없으면 DB 를 조회한다.
+     */
     public Player findPlayerByWebSocketSessionId(String webSocketSessionId) {
-        return playerRepository.findByWebSocketSessionId(webSocketSessionId)
+        SessionMember member = sessionRegistry.findMember(webSocketSessionId).orElse(null);
+        if (member != null && member.getPlayerId() != null) {
+            Player livePlayer = gameRoomStateEngine.findLivePlayer(member.getPlayerId())
+                    .filter(player -> webSocketSessionId.equals(player.getWebSocketSessionId()))
+                    .orElse(null);
+            if (livePlayer != null) {
+                return livePlayer;
+            }
+        }
+
+        Player findPlayer = playerRepository.findByWebSocketSessionId(webSocketSessionId)
                 .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+        return gameRoomStateEngine.resolvePlayer(findPlayer);
     }
 
     @Transactional
@@ -65,10 +104,15 @@ public class GameServiceImpl implements GameService {
         return gameRoomRepository.save(gameRoom).getId();
     }
 
-    @Transactional(readOnly = true)
     public GameRoom findGameRoomById(Long id) {
-        return gameRoomRepository.findById(id)
-                .orElseThrow(() -> new GameLogicException(GameExceptionCode.GAME_ROOM_NOT_FOUND));
+        return gameRoomStateEngine.find(id);
+    }
+
+    /**
+     * 방의 메일박스 안에서 읽으므로 다른 커맨드가 바꾸는 도중의 상태를 읽지 않는다.
+     */
+    public <T> T readGameRoom(Long id, Function<GameRoom, T> reader) {
+        return gameRoomStateEngine.read(id, reader);
     }
 
     @Transactional(readOnly = true)
@@ -81,18 +125,22 @@ public class GameServiceImpl implements GameService {
     @Transactional
     public void joinGameRoom(Long gameRoomId, Long playerId) {
         Player findPlayer = findPlayerById(playerId);
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-        findGameRoom.joinPlayer(findPlayer);
+
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> findGameRoom.joinPlayer(findPlayer));
+        sessionRegistry.joinRoom(findPlayer.getWebSocketSessionId(), gameRoomId);
     }
 
     @Transactional
     public void exitGameRoom(String sessionId) {
         Player findPlayer = findPlayerByWebSocketSessionId(sessionId);
-        GameRoom gameRoom = findPlayer.getGameRoom();
 
-        findPlayer.exit();
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            findPlayer.exit();
+            playerRepository.save(findPlayer);
 
-        deleteEmptyGameRoom(gameRoom);
+            deleteEmptyGameRoom(gameRoom);
+        });
+        sessionRegistry.leaveRoom(sessionId);
     }
 
     @Transactional
@@ -102,18 +150,19 @@ public class GameServiceImpl implements GameService {
         if (findPlayer.getGameRoom() == null) {
             playerRepository.delete(findPlayer);
         } else {
-            GameRoom gameRoom = findPlayer.getGameRoom();
-
-            if (gameRoom.isGameStart()) {
-                findPlayer.disconnect();
-                gameRoom.updatePhase(Phase.GUESS);
-            } else {
-                findPlayer.exit();
-                playerRepository.delete(findPlayer);
-            }
-
-            deleteEmptyGameRoom(gameRoom);
+            gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+                if (gameRoom.isGameStart()) {
+                    findPlayer.disconnect();
+                    gameRoom.updatePhase(Phase.GUESS);
+                } else {
+                    findPlayer.exit();
+                    playerRepository.delete(findPlayer);
+                }
+
+                deleteEmptyGameRoom(gameRoom);
+            });
         }
+        sessionRegistry.leaveRoom(sessionId);
     }
 
     @Transactional
@@ -121,231 +170,241 @@ public class GameServiceImpl implements GameService {
         playerRepository.deleteById(playerId);
     }
 
-    @Transactional
     public void updatePlayerReady(Long playerId, boolean isReady) {
         Player findPlayer = findPlayerById(playerId);
 
-        checkGamePhaseSync(findPlayer.getGameRoom(), Phase.WAIT);
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            checkGamePhaseSync(gameRoom, Phase.WAIT);
 
-        findPlayer.updateReady(isReady);
+            findPlayer.updateReady(isReady);
+        });
     }
 
-    @Transactional
     public void gameStart(Long gameRoomId) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        validGameStart(findGameRoom);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            validGameStart(findGameRoom);
 
-        findGameRoom.gameReset();
-        findGameRoom.randomSetPlayerOrder();
-        findGameRoom.updatePhase(Phase.SETTING);
+            findGameRoom.gameReset();
+            findGameRoom.randomSetPlayerOrder();
+            findGameRoom.updatePhase(Phase.SETTING);
+        });
     }
 
-    @Transactional
     public void endSettingPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.SETTING);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        checkGamePhaseSync(findGameRoom, Phase.SETTING);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
-
-        findGameRoom.allPlayerReadyOff();
-        findGameRoom.updatePhase(Phase.START);
+            findGameRoom.allPlayerReadyOff();
+            findGameRoom.updatePhase(Phase.START);
+        });
     }
 
-    @Transactional
     public void drawBlockAtStart(Long gameRoomId, Long playerId, int whiteBlockCount, int blackBlockCount) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
         Player findPlayer = findPlayerById(playerId);
 
-        int maxBlockCount = numberOfBlockAtStart(findGameRoom);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkPlayerInGameRoom(findGameRoom, findPlayer);
 
-        if (whiteBlockCount + blackBlockCount != maxBlockCount){
-            autoDrawAtStart(gameRoomId);
-            throw new GameLogicException(GameExceptionCode.INVALID_NUMBER_OF_BLOCKS);
-        }
+            int maxBlockCount = numberOfBlockAtStart(findGameRoom);
 
-        addRandomBlocks(findGameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
-        addRandomBlocks(findGameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
+            if (whiteBlockCount + blackBlockCount != maxBlockCount){
+                autoDrawAtStart(findGameRoom);
+                throw new GameLogicException(GameExceptionCode.INVALID_NUMBER_OF_BLOCKS);
+            }
 
-        findPlayer.updateReady(true);
+            addRandomBlocks(findGameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
+            addRandomBlocks(findGameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
+
+            findPlayer.updateReady(true);
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void autoDrawAtStart(Long gameRoomId) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-        Player findPlayer = findGameRoom.getProgressPlayer();
-
-        checkGamePhaseSync(findGameRoom, Phase.START);
-        if (findPlayer.isReady()) {
-            return;
-        }
-
-        findPlayer.updateReady(true);
-
-        int count = numberOfBlockAtStart(findGameRoom);
-
-        double randomValue = Math.random();
-
-        int whiteBlockCount = (int) (randomValue * (count + 1));
-        int blackBlockCount = count - whiteBlockCount;
-
-        addRandomBlocks(findGameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
-        addRandomBlocks(findGameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
+        gameRoomStateEngine.execute(gameRoomId, this::autoDrawAtStart);
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void endStartPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, Phase.START);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
-
-        if (findGameRoom.areAllPlayersReady()) {
-            findGameRoom.allPlayerReadyOff();
-            findGameRoom.updatePhase(Phase.DRAW);
-            findGameRoom.addJoker();
-            findGameRoom.progressZero();
-        } else {
-            findGameRoom.nextPlayer();
-        }
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.START);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+
+            if (findGameRoom.areAllPlayersReady()) {
+                findGameRoom.allPlayerReadyOff();
+                findGameRoom.updatePhase(Phase.DRAW);
+                findGameRoom.addJoker();
+                findGameRoom.progressZero();
+            } else {
+                findGameRoom.nextPlayer();
+            }
+        });
     }
-    
-    @Transactional
+
     public void drawBlockAtDrawPhase(Long gameRoomId, Long playerId, BlockColor blockColor) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
         Player findPlayer = findPlayerById(playerId);
 
-        Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
-        findPlayer.addBlock(drawBlock);
-        findPlayer.updateReady(true);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkPlayerInGameRoom(findGameRoom, findPlayer);
+
+            Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
+            findPlayer.addBlock(drawBlock);
+            findPlayer.updateReady(true);
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void autoDrawAtDrawPhase(Long gameRoomId) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-        Player findPlayer = findGameRoom.getProgressPlayer();
-
-        checkGamePhaseSync(findGameRoom, Phase.DRAW);
-        if (findPlayer.isReady()) {
-            return;
-        }
-
-        double randomValue = Math.random();
-        BlockColor blockColor = (randomValue * 2 < 1) ? BlockColor.WHITE : BlockColor.BLACK;
-
-        Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
-        findPlayer.addBlock(drawBlock);
-        findPlayer.updateReady(true);
+        gameRoomStateEngine.execute(gameRoomId, this::autoDrawAtDrawPhase);
     }
-    
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+
     public void endDrawPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-        
-        checkGamePhaseSync(findGameRoom, Phase.DRAW);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.DRAW);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        findGameRoom.updatePhase(Phase.SORT);
-        findGameRoom.allPlayerReadyOff();
+            findGameRoom.updatePhase(Phase.SORT);
+            findGameRoom.allPlayerReadyOff();
+        });
     }
 
-    @Transactional
     public void updatePlayerJoker(Long playerId,int newJokerIndex, BlockColor blockColor) {
         Player findPlayer = findPlayerById(playerId);
 
-        if (findPlayer.getGameRoom().getPhase() != Phase.SORT) {
-            throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
-        }
-        if (findPlayer.isReady()) {
-            throw new GameLogicException(GameExceptionCode.ALREADY_EXECUTED);
-        }
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            if (gameRoom.getPhase() != Phase.SORT) {
+                throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
+            }
+            if (findPlayer.isReady()) {
+                throw new GameLogicException(GameExceptionCode.ALREADY_EXECUTED);
+            }
 
-        findPlayer.updateJokerIndex(newJokerIndex, blockColor);
-        findPlayer.updateReady(true);
+            findPlayer.updateJokerIndex(newJokerIndex, blockColor);
+            findPlayer.updateReady(true);
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void endSortPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, Phase.SORT);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.SORT);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        findGameRoom.updatePhase(Phase.GUESS);
-        findGameRoom.allPlayerReadyOff();
+            findGameRoom.updatePhase(Phase.GUESS);
+            findGameRoom.allPlayerReadyOff();
+        });
     }
 
-    @Transactional
     public boolean guessBlock(Long guessPlayerId, Long targetPlayerId, int index, int num) {
         Player targetPlayer = findPlayerById(targetPlayerId);
+        Player guessPlayer = findPlayerById(guessPlayerId);
 
-        if (targetPlayer.guessBlock(index, num)) {
-            Player guessPlayer = findPlayerById(guessPlayerId);
-            guessPlayer.updateReady(true);
-            return true;
-        } else {
-            return false;
+        if (targetPlayer.getGameRoom() == null) {
+            throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
         }
+
+        return gameRoomStateEngine.executeAndGet(targetPlayer.getGameRoom().getId(), gameRoom -> {
+            checkPlayerInGameRoom(gameRoom, targetPlayer);
+            checkPlayerInGameRoom(gameRoom, guessPlayer);
+
+            if (targetPlayer.guessBlock(index, num)) {
+                guessPlayer.updateReady(true);
+                return true;
+            } else {
+                return false;
+            }
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void endGuessPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, Phase.GUESS);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.GUESS);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        Player progressPlayer = findGameRoom.getProgressPlayer();
+            Player progressPlayer = findGameRoom.getProgressPlayer();
 
-        if (progressPlayer.isReady()) {
-            findGameRoom.updatePhase(Phase.REPEAT);
-        } else {
-            findGameRoom.getProgressPlayer().openDrawCard();
-            findGameRoom.updatePhase(Phase.END);
-        }
+            if (progressPlayer.isReady()) {
+                findGameRoom.updatePhase(Phase.REPEAT);
+            } else {
+                findGameRoom.getProgressPlayer().openDrawCard();
+                findGameRoom.updatePhase(Phase.END);
+            }
 
-        checkGameOver(findGameRoom);
+            checkGameOver(findGameRoom);
 
-        progressPlayer.updateReady(false);
+            progressPlayer.updateReady(false);
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void endRepeatPhase(Long gameRoomId, int progressPlayerNum, boolean repeatGuess) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, Phase.REPEAT);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.REPEAT);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        if (repeatGuess) {
-            findGameRoom.updatePhase(Phase.GUESS);
-        } else {
-            findGameRoom.updatePhase(Phase.END);
-        }
+            if (repeatGuess) {
+                findGameRoom.updatePhase(Phase.GUESS);
+            } else {
+                findGameRoom.updatePhase(Phase.END);
+            }
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public void endEndPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
-
-        checkGamePhaseSync(findGameRoom, Phase.END);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.END);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
 
-        findGameRoom.nextPlayer();
-        findGameRoom.updatePhase(Phase.DRAW);
+            findGameRoom.nextPlayer();
+            findGameRoom.updatePhase(Phase.DRAW);
+        });
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
     public void endGameOverPhase(Long gameRoomId, int progressPlayerNum) {
-        GameRoom findGameRoom = findGameRoomById(gameRoomId);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            checkGamePhaseSync(findGameRoom, Phase.GAMEOVER);
+            checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+
+            findGameRoom.updatePhase(Phase.WAIT);
+            findGameRoom.gameReset();
+            findGameRoom.getPlayerList().forEach(Player::gameReset);
+
+            deleteDisconnectPlayer(findGameRoom);
+        });
+    }
+
+    private void autoDrawAtStart(GameRoom findGameRoom) {
+        Player findPlayer = findGameRoom.getProgressPlayer();
+
+        checkGamePhaseSync(findGameRoom, Phase.START);
+        if (findPlayer.isReady()) {
+            return;
+        }
+
+        findPlayer.updateReady(true);
+
+        int count = numberOfBlockAtStart(findGameRoom);
 
-        checkGamePhaseSync(findGameRoom, Phase.GAMEOVER);
-        checkPlayerOrderSync(findGameRoom, progressPlayerNum);
+        double randomValue = Math.random();
 
-        findGameRoom.updatePhase(Phase.WAIT);
-        findGameRoom.gameReset();
-        findGameRoom.getPlayerList().forEach(Player::gameReset);
+        int whiteBlockCount = (int) (randomValue * (count + 1));
+        int blackBlockCount = count - whiteBlockCount;
 
-        deleteDisconnectPlayer(findGameRoom);
+        addRandomBlocks(findGameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
+        addRandomBlocks(findGameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
+    }
+
+    private void autoDrawAtDrawPhase(GameRoom findGameRoom) {
+        Player findPlayer = findGameRoom.getProgressPlayer();
+
+        checkGamePhaseSync(findGameRoom, Phase.DRAW);
+        if (findPlayer.isReady()) {
+            return;
+        }
+
+        double randomValue = Math.random();
+        BlockColor blockColor = (randomValue * 2 < 1) ? BlockColor.WHITE : BlockColor.BLACK;
+
+        Block drawBlock = findGameRoom.drawRandomBlock(blockColor);
+        findPlayer.addBlock(drawBlock);
+        findPlayer.updateReady(true);
     }
 
     private void validGameStart(GameRoom findGameRoom) {
@@ -379,6 +438,15 @@ public class GameServiceImpl implements GameService {
         }
     }
 
+    /**
+     * Player 는 방 밖에서 찾으므로, 커맨드를 실행하는 방의 Player 가 아니면 다른 방의 상태를 이 방의 메일박스에서 바꾸게 된다.
+     */
+    private void checkPlayerInGameRoom(GameRoom gameRoom, Player player) {
+        if (player.getGameRoom() == null || !gameRoom.getId().equals(player.getGameRoom().getId())) {
+            throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
+        }
+    }
+
     private void deleteDisconnectPlayer(GameRoom gameRoom) {
         List<Player> disconnectPlayer = gameRoom.getPlayerList().stream()
                 .filter(player -> player.getWebSocketSessionId().equals("disconnect"))
@@ -393,6 +461,7 @@ public class GameServiceImpl implements GameService {
 
     private void deleteEmptyGameRoom(GameRoom gameRoom) {
         if (gameRoom.getPlayerList().stream().allMatch(player -> player.getWebSocketSessionId().equals("disconnect"))) {
+            gameRoomStateEngine.evict(gameRoom.getId());
             gameRoomRepository.delete(gameRoom);
         }
     }
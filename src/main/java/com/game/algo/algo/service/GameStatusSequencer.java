@@ -0,0 +1,321 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.data.GameRoomEvicted;
+import com.game.algo.algo.dto.response.DrawBlockData;
+import com.game.algo.algo.dto.response.GameStatusData;
+import com.game.algo.algo.dto.response.GameStatusDelta;
+import com.game.algo.algo.dto.response.OwnerBlockData;
+import com.game.algo.algo.dto.response.PhaseUpdate;
+import com.game.algo.algo.dto.response.PlayerGameData;
+import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.algo.entity.Player;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.MessageDataResponse;
+import com.game.algo.websocket.service.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 방마다 마지막으로 보낸 GameStatusData 와 sequence 를 기억해 두고, 이미 동기화된 세션에는 GameStatusDelta 만 보낸다.
+ * 처음 받는 세션이나 스냅샷을 요청한 세션에는 sequence 가 붙은 전체 GameStatusData 를 보낸다.
+ * 방의 상태는 메일박스 안에서 capture 로 복사해 두고, 비교와 송신 큐에 넣는 작업은 메일박스 밖에서 방 단위로 묶어서 하므로
+ * sequence 순서와 도착 순서가 같다.
+ * 최근 delta 는 방마다 replaySize 개까지 링 버퍼에 남겨서 재접속한 세션에 빠진 부분만 다시 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameStatusSequencer {
+
+    private final Map<Long, RoomStatus> roomStatuses = new ConcurrentHashMap<>();
+
+    private final WebSocketService webSocketService;
+
+    @Value("${algo.websocket.resume.replay-size:64}")
+    private int replaySize = 64;
+
+
+    /**
+     * 방의 메일박스 안에서(GameRoomStateEngine.executeAndGet / read) 호출해서 방의 상태를 복사해 둔다.
+     * 비교와 송신은 publish 로 메일박스 밖에서 한다.
+     */
+    public StatusCapture capture(GameRoom gameRoom) {
+        return capture(gameRoom, null, Map.of(), null, null);
+    }
+
+    /**
+     * PhaseUpdate 로 보낼 플레이어별 데이터까지 같이 복사해 둔다. 메일박스 안에서 호출해야 한다.
+     */
+    public StatusCapture capturePhaseUpdate(GameRoom gameRoom, boolean withOwnerBlockData, boolean withDrawBlockData) {
+        Map<String, OwnerBlockData> ownerBlockDataMap = new HashMap<>();
+        if (withOwnerBlockData) {
+            gameRoom.getPlayerList().stream()
+                    .filter(player -> player.getWebSocketSessionId() != null)
+                    .forEach(player -> ownerBlockDataMap.put(player.getWebSocketSessionId(), OwnerBlockData.from(player)));
+        }
+
+        Player progressPlayer = withDrawBlockData ? gameRoom.getProgressPlayer() : null;
+        return capture(gameRoom, gameRoom.getPhase().getWaitTime(), ownerBlockDataMap,
+                (progressPlayer == null) ? null : progressPlayer.getWebSocketSessionId(),
+                (progressPlayer == null) ? null : DrawBlockData.from(progressPlayer));
+    }
+
+    public void publish(StatusCapture capture) {
+        publish(capture, (fullTargets, snapshot, deltaTargets, delta) -> {
+            if (delta != null && !deltaTargets.isEmpty()) {
+                broadcast(deltaTargets, MessageDataResponse.create(MessageType.GameStatusDelta, delta));
+            }
+            if (!fullTargets.isEmpty()) {
+                broadcast(fullTargets, MessageDataResponse.create(MessageType.GameStatusData, snapshot));
+            }
+        });
+    }
+
+    /**
+     * 페이즈 전환 때 플레이어마다 받아야 하는 데이터를 PhaseUpdate 하나로 묶어서 보낸다.
+     */
+    public void publishPhaseUpdate(StatusCapture capture) {
+        publish(capture, (fullTargets, snapshot, deltaTargets, delta) ->
+                capture.sessionIdList.forEach(sessionId -> {
+                    boolean full = fullTargets.contains(sessionId);
+
+                    PhaseUpdate phaseUpdate = PhaseUpdate.create(
+                            capture.waitForSec,
+                            full ? snapshot : null,
+                            full ? null : delta,
+                            capture.ownerBlockDataMap.get(sessionId),
+                            sessionId.equals(capture.drawSessionId) ? capture.drawBlockData : null);
+
+                    broadcast(List.of(sessionId), MessageDataResponse.create(MessageType.PhaseUpdate, phaseUpdate));
+                }));
+    }
+
+    /**
+     * 세션별로 받을 상태(전체 또는 delta)를 정한 뒤 sender 에게 넘긴다.
+     * 메일박스 밖에서 호출되므로 방의 상태 대신 capture 로 복사해 둔 상태끼리 비교한다.
+     * 이미 더 나중에 복사한 상태를 보냈다면 이 capture 는 버린다.
+     * sender 는 RoomStatus 의 락 안에서 호출되므로 송신 큐에 넣는 것까지만 해야 한다.
+     */
+    public void publish(StatusCapture capture, StatusSender sender) {
+        RoomStatus roomStatus = capture.roomStatus;
+
+        synchronized (roomStatus) {
+            if (capture.order <= roomStatus.publishedOrder) {
+                return;
+            }
+            roomStatus.publishedOrder = capture.order;
+
+            GameStatusData current = capture.status;
+            List<String> sessionIdList = capture.sessionIdList;
+
+            GameStatusDelta delta = null;
+            if (roomStatus.last != null) {
+                delta = GameStatusDelta.between(roomStatus.last, roomStatus.lastPlayerDataList, current, roomStatus.sequence + 1);
+            }
+
+            boolean changed = (delta == null) || !delta.isEmpty();
+            if (changed) {
+                roomStatus.update(current, delta, replaySize);
+            }
+
+            List<String> fullTargets = new ArrayList<>();
+            List<String> deltaTargets = new ArrayList<>();
+            sessionIdList.forEach(sessionId ->
+                    (roomStatus.syncedSessionIds.contains(sessionId) ? deltaTargets : fullTargets).add(sessionId));
+
+            sender.send(fullTargets, roomStatus.snapshot(), deltaTargets, changed ? delta : null);
+
+            roomStatus.syncedSessionIds.retainAll(sessionIdList);
+            if (roomStatus.isPlayerDataVisible()) { // 숨겨진 플레이어 데이터는 다음에 전체로 보낸다
+                roomStatus.syncedSessionIds.addAll(fullTargets);
+            }
+        }
+    }
+
+    /**
+     * 클라이언트가 sequence 의 빈틈을 발견했을 때 요청하는 전체 상태
+     */
+    public void sendSnapshot(StatusCapture capture, String sessionId) {
+        RoomStatus roomStatus = capture.roomStatus;
+
+        synchronized (roomStatus) {
+            if (roomStatus.last == null) { // 아직 한번도 보내지 않은 방
+                publish(capture);
+                return;
+            }
+            sendSnapshot(roomStatus, sessionId);
+        }
+    }
+
+    /**
+     * 재접속한 세션에 lastSequence 이후의 delta 를 순서대로 다시 보낸다.
+     * 링 버퍼가 이미 그 구간을 덮어썼거나 플레이어 데이터가 숨겨진 페이즈면 전체 상태를 보낸다.
+     */
+    public void replay(StatusCapture capture, String sessionId, Long lastSequence) {
+        RoomStatus roomStatus = capture.roomStatus;
+
+        synchronized (roomStatus) {
+            if (roomStatus.last == null || lastSequence == null) {
+                sendSnapshot(capture, sessionId);
+                return;
+            }
+            if (roomStatus.syncedSessionIds.contains(sessionId)) { // 재접속 뒤 이미 새 상태를 받은 경우
+                return;
+            }
+
+            List<GameStatusDelta> missedDeltaList = roomStatus.deltasAfter(lastSequence);
+            if (missedDeltaList == null || !roomStatus.isPlayerDataVisible()) {
+                sendSnapshot(roomStatus, sessionId);
+                return;
+            }
+
+            missedDeltaList.forEach(delta ->
+                    broadcast(List.of(sessionId), MessageDataResponse.create(MessageType.GameStatusDelta, delta)));
+            roomStatus.syncedSessionIds.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void remove(GameRoomEvicted gameRoomEvicted) {
+        roomStatuses.remove(gameRoomEvicted.getGameRoomId());
+    }
+
+    private StatusCapture capture(GameRoom gameRoom, Integer waitForSec, Map<String, OwnerBlockData> ownerBlockDataMap,
+                                  String drawSessionId, DrawBlockData drawBlockData) {
+        RoomStatus roomStatus = roomStatuses.computeIfAbsent(gameRoom.getId(), id -> new RoomStatus());
+        List<String> sessionIdList = gameRoom.getPlayerList().stream()
+                .map(Player::getWebSocketSessionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        long order;
+        synchronized (roomStatus) {
+            order = ++roomStatus.capturedOrder;
+        }
+        return new StatusCapture(gameRoom.getId(), roomStatus, order, GameStatusData.from(gameRoom), sessionIdList,
+                waitForSec, ownerBlockDataMap, drawSessionId, drawBlockData);
+    }
+
+    private void sendSnapshot(RoomStatus roomStatus, String sessionId) {
+        if (roomStatus.last == null) {
+            return;
+        }
+        broadcast(List.of(sessionId), MessageDataResponse.create(MessageType.GameStatusData, roomStatus.snapshot()));
+
+        if (roomStatus.isPlayerDataVisible()) {
+            roomStatus.syncedSessionIds.add(sessionId);
+        } else {
+            roomStatus.syncedSessionIds.remove(sessionId);
+        }
+    }
+
+    private void broadcast(List<String> sessionIdList, MessageDataResponse messageData) {
+        try {
+            webSocketService.broadcast(sessionIdList, messageData);
+        } catch (IOException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+
+    public interface StatusSender {
+
+        /**
+         * @param delta 이미 동기화된 세션에 보낼 변경분, 바뀐 것이 없으면 null
+         */
+        void send(List<String> fullTargets, GameStatusData snapshot, List<String> deltaTargets, GameStatusDelta delta);
+    }
+
+    /**
+     * 메일박스 안에서 복사해 둔 방의 상태. order 는 같은 방 안에서 복사한 순서다.
+     */
+    public static class StatusCapture {
+
+        private final Long gameRoomId;
+        private final RoomStatus roomStatus;
+        private final long order;
+        private final GameStatusData status;
+        private final List<String> sessionIdList;
+        private final Integer waitForSec;
+        private final Map<String, OwnerBlockData> ownerBlockDataMap;
+        private final String drawSessionId;
+        private final DrawBlockData drawBlockData;
+
+        private StatusCapture(Long gameRoomId, RoomStatus roomStatus, long order, GameStatusData status,
+                              List<String> sessionIdList, Integer waitForSec, Map<String, OwnerBlockData> ownerBlockDataMap,
+                              String drawSessionId, DrawBlockData drawBlockData) {
+            this.gameRoomId = gameRoomId;
+            this.roomStatus = roomStatus;
+            this.order = order;
+            this.status = status;
+            this.sessionIdList = sessionIdList;
+            this.waitForSec = waitForSec;
+            this.ownerBlockDataMap = ownerBlockDataMap;
+            this.drawSessionId = drawSessionId;
+            this.drawBlockData = drawBlockData;
+        }
+
+        public Long getGameRoomId() {
+            return gameRoomId;
+        }
+    }
+
+    private static class RoomStatus {
+
+        private long capturedOrder; // 메일박스 안에서 증가
+        private long publishedOrder; // 마지막으로 보낸 capture 의 order
+        private long sequence;
+        private GameStatusData last;
+        private List<PlayerGameData> lastPlayerDataList = List.of(); // SORT 페이즈 이전에 마지막으로 공개된 플레이어 데이터
+        private final Set<String> syncedSessionIds = new HashSet<>();
+        private final Deque<GameStatusDelta> recentDeltas = new ArrayDeque<>(); // 재접속 replay 용 링 버퍼
+
+        private void update(GameStatusData current, GameStatusDelta delta, int replaySize) {
+            sequence++;
+            last = current;
+            if (current.getPlayerDataList() != null) {
+                lastPlayerDataList = current.getPlayerDataList();
+            }
+
+            if (delta == null) { // 전체 상태부터 다시 시작
+                recentDeltas.clear();
+                return;
+            }
+            recentDeltas.addLast(delta);
+            while (recentDeltas.size() > replaySize) {
+                recentDeltas.pollFirst();
+            }
+        }
+
+        /**
+         * @return lastSequence 다음부터의 delta, 버퍼에 빈틈 없이 남아있지 않으면 null
+         */
+        private List<GameStatusDelta> deltasAfter(long lastSequence) {
+            if (lastSequence == sequence) {
+                return List.of();
+            }
+            if (lastSequence > sequence || recentDeltas.isEmpty() || recentDeltas.peekFirst().getSequence() > lastSequence + 1) {
+                return null;
+            }
+            return recentDeltas.stream()
+                    .filter(delta -> delta.getSequence() > lastSequence)
+                    .collect(Collectors.toList());
+        }
+
+        private boolean isPlayerDataVisible() {
+            return last.getPlayerDataList() != null;
+        }
+
+        private GameStatusData snapshot() {
+            return last.withSequence(sequence);
+        }
+    }
+}
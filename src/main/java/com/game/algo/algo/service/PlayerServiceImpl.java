@@ -2,19 +2,19 @@ package com.game.algo.algo.service;
 
 import com.game.algo.algo.data.BlockColor;
 import com.game.algo.algo.data.GameProperty;
-import com.game.algo.algo.data.GameStatusUpdateCommand;
 import com.game.algo.algo.entity.Block;
 import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
 import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
 import com.game.algo.algo.repository.PlayerRepository;
+import com.game.algo.websocket.data.SessionMember;
+import com.game.algo.websocket.service.SessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -23,37 +23,66 @@ public class PlayerServiceImpl implements PlayerService {
 
     private final ApplicationEventPublisher eventPublisher;
     private final GameRoomService gameRoomService;
+    private final GameRoomStateEngine gameRoomStateEngine;
     private final PlayerRepository playerRepository;
+    private final SessionRegistry sessionRegistry;
 
     @Override
     @Transactional
     public Long create(String name, String webSocketSessionId) {
         Player player = Player.create(name, webSocketSessionId);
-        return playerRepository.save(player).getId();
+        Long playerId = playerRepository.save(player).getId();
+
+        sessionRegistry.bindPlayer(webSocketSessionId, playerId, null);
+        return playerId;
     }
 
+    /**
+     * 메모리의 방에 참여중인 Player 는 DB 를 조회하지 않는다.
+     */
     @Override
-    @Transactional(readOnly = true)
     public Player findById(Long id) {
-        return playerRepository.findById(id)
+        Player livePlayer = gameRoomStateEngine.findLivePlayer(id).orElse(null);
+        if (livePlayer != null) {
+            return livePlayer;
+        }
+
+        Player findPlayer = playerRepository.findById(id)
                 .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+        return gameRoomStateEngine.resolvePlayer(findPlayer);
     }
 
+    /**
+     * 세션에 묶인 Player 가 메모리의 방에 있으면 바로 찾고, 없으면 DB 를 조회한다.
+     */
     @Override
-    @Transactional(readOnly = true)
     public Player findByWebSocketSessionId(String webSocketSessionId) {
-        return playerRepository.findByWebSocketSessionId(webSocketSessionId)
+        SessionMember member = sessionRegistry.findMember(webSocketSessionId).orElse(null);
+        if (member != null && member.getPlayerId() != null) {
+            Player livePlayer = gameRoomStateEngine.findLivePlayer(member.getPlayerId())
+                    .filter(player -> webSocketSessionId.equals(player.getWebSocketSessionId()))
+                    .orElse(null);
+            if (livePlayer != null) {
+                return livePlayer;
+            }
+        }
+
+        Player findPlayer = playerRepository.findByWebSocketSessionId(webSocketSessionId)
                 .orElseThrow(() -> new GameLogicException(GameExceptionCode.PLAYER_NOT_FOUND));
+        return gameRoomStateEngine.resolvePlayer(findPlayer);
     }
 
     @Override
     @Transactional
     public void joinGameRoom(String sessionId, Long gameRoomId) {
         Player findPlayer = findByWebSocketSessionId(sessionId);
-        GameRoom findGameRoom = gameRoomService.findById(gameRoomId);
-        findGameRoom.joinPlayer(findPlayer);
 
-        gameRoomService.sendGameStatusUpdateCommand(findGameRoom);
+        gameRoomStateEngine.execute(gameRoomId, findGameRoom -> {
+            findGameRoom.joinPlayer(findPlayer);
+            sessionRegistry.joinRoom(sessionId, gameRoomId);
+
+            gameRoomService.sendGameStatusUpdateCommand(findGameRoom);
+        });
     }
 
     @Override
@@ -62,10 +91,14 @@ public class PlayerServiceImpl implements PlayerService {
         Player findPlayer = findByWebSocketSessionId(sessionId);
         GameRoom gameRoom = findPlayer.getGameRoom();
 
-        findPlayer.exit();
-        deleteEmptyGameRoom(gameRoom);
+        gameRoomStateEngine.execute(gameRoom.getId(), findGameRoom -> {
+            findPlayer.exit();
+            playerRepository.save(findPlayer);
+            deleteEmptyGameRoom(findGameRoom);
+            sessionRegistry.leaveRoom(sessionId);
 
-        gameRoomService.sendGameStatusUpdateCommand(gameRoom);
+            gameRoomService.sendGameStatusUpdateCommand(findGameRoom);
+        });
     }
 
     @Override
@@ -73,109 +106,115 @@ public class PlayerServiceImpl implements PlayerService {
     public void disconnectWebSession(String sessionId) {
         Player findPlayer = findByWebSocketSessionId(sessionId);
 
+        sessionRegistry.leaveRoom(sessionId);
         if (findPlayer.getGameRoom() == null) {
             playerRepository.delete(findPlayer);
             return;
         }
 
-        GameRoom gameRoom = findPlayer.getGameRoom();
-
-        if (gameRoom.isGameStart()) {
-            findPlayer.disconnect();
-            gameRoom.updatePhase(GameRoom.Phase.GUESS);
-        } else {
-            findPlayer.exit();
-            playerRepository.delete(findPlayer);
-        }
-
-        deleteEmptyGameRoom(gameRoom);
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            if (gameRoom.isGameStart()) {
+                findPlayer.disconnect();
+                gameRoom.updatePhase(GameRoom.Phase.GUESS);
+            } else {
+                findPlayer.exit();
+                playerRepository.delete(findPlayer);
+            }
+
+            deleteEmptyGameRoom(gameRoom);
+        });
     }
 
     @Override
-    @Transactional
     public void reversePlayerReady(String SessionId) {
         Player findPlayer = findByWebSocketSessionId(SessionId);
 
-        if (findPlayer.getGameRoom().getPhase() != GameRoom.Phase.WAIT) {
-            throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
-        }
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            if (gameRoom.getPhase() != GameRoom.Phase.WAIT) {
+                throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
+            }
 
-        findPlayer.updateReady(!findPlayer.isReady());
+            findPlayer.updateReady(!findPlayer.isReady());
 
-        gameRoomService.sendGameStatusUpdateCommand(findPlayer.getGameRoom());
+            gameRoomService.sendGameStatusUpdateCommand(gameRoom);
+        });
     }
 
     @Override
-    @Transactional
     public void drawBlockAtStart(String sessionId, int whiteBlockCount, int blackBlockCount) {
         Player findPlayer = findByWebSocketSessionId(sessionId);
-        GameRoom gameRoom = findPlayer.getGameRoom();
 
-        int maxBlockCount = GameProperty.numberOfBlockAtStart(gameRoom.getPlayerList().size());
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            int maxBlockCount = GameProperty.numberOfBlockAtStart(gameRoom.getPlayerList().size());
 
-        if (whiteBlockCount + blackBlockCount != maxBlockCount){
-            gameRoomService.autoProgressAtStartPhase(gameRoom.getId());
-            throw new GameLogicException(GameExceptionCode.INVALID_NUMBER_OF_BLOCKS);
-        }
+            if (whiteBlockCount + blackBlockCount != maxBlockCount){
+                gameRoomService.autoProgressAtStartPhase(gameRoom.getId());
+                throw new GameLogicException(GameExceptionCode.INVALID_NUMBER_OF_BLOCKS);
+            }
 
-        gameRoomService.serveRandomBlocks(gameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
-        gameRoomService.serveRandomBlocks(gameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
+            gameRoomService.serveRandomBlocks(gameRoom, findPlayer, BlockColor.WHITE, whiteBlockCount);
+            gameRoomService.serveRandomBlocks(gameRoom, findPlayer, BlockColor.BLACK, blackBlockCount);
 
-        findPlayer.updateReady(true);
+            findPlayer.updateReady(true);
+        });
     }
 
     @Override
-    @Transactional
     public void drawBlockAtDrawPhase(String sessionId, BlockColor blockColor) {
         Player findPlayer = findByWebSocketSessionId(sessionId);
-        GameRoom gameRoom = findPlayer.getGameRoom();
 
-        Block drawBlock = gameRoom.drawRandomBlock(blockColor);
-        findPlayer.addBlock(drawBlock);
-        findPlayer.updateReady(true);
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            Block drawBlock = gameRoom.drawRandomBlock(blockColor);
+            findPlayer.addBlock(drawBlock);
+            findPlayer.updateReady(true);
+        });
     }
 
     @Override
-    @Transactional
     public void updatePlayerJoker(String sessionId, int newJokerIndex, BlockColor blockColor) {
         Player findPlayer = findByWebSocketSessionId(sessionId);
 
-        if (findPlayer.getGameRoom().getPhase() != GameRoom.Phase.SORT) {
-            throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
-        }
-        if (findPlayer.isReady()) {
-            throw new GameLogicException(GameExceptionCode.ALREADY_EXECUTED);
-        }
-
-        findPlayer.updateJokerIndex(newJokerIndex, blockColor);
-        findPlayer.updateReady(true);
+        gameRoomStateEngine.execute(findPlayer.getGameRoom().getId(), gameRoom -> {
+            if (gameRoom.getPhase() != GameRoom.Phase.SORT) {
+                throw new GameLogicException(GameExceptionCode.INVALID_PLAYER);
+            }
+            if (findPlayer.isReady()) {
+                throw new GameLogicException(GameExceptionCode.ALREADY_EXECUTED);
+            }
+
+            findPlayer.updateJokerIndex(newJokerIndex, blockColor);
+            findPlayer.updateReady(true);
+        });
     }
 
     @Override
-    @Transactional
     public boolean guessBlock(String sessionId, Long targetPlayerId, int index, int num) {
         Player targetPlayer = findById(targetPlayerId);
 
-        if (targetPlayer.guessBlock(index, num)) {
-            Player guessPlayer = findByWebSocketSessionId(sessionId);
-            guessPlayer.updateReady(true);
-            return true;
-        } else {
-            return false;
-        }
+        return gameRoomStateEngine.executeAndGet(targetPlayer.getGameRoom().getId(), gameRoom -> {
+            if (targetPlayer.guessBlock(index, num)) {
+                Player guessPlayer = findByWebSocketSessionId(sessionId);
+                guessPlayer.updateReady(true);
+                return true;
+            } else {
+                return false;
+            }
+        });
     }
 
     @Override
-    @Transactional
     public void repeatGuess(Long playerId) {
         Player findPlayer = findById(playerId);
         gameRoomService.endRepeatPhase(findPlayer.getGameRoom().getId(), findPlayer.getWebSocketSessionId(), true);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void validSessionIdInGameRoom(String sessionId, Long gameRoomId) {
-        if (!Objects.equals(findByWebSocketSessionId(sessionId).getGameRoom().getId(), gameRoomId)) {
+        Long joinedGameRoomId = sessionRegistry.findMember(sessionId)
+                .map(SessionMember::getGameRoomId)
+                .orElseGet(() -> findByWebSocketSessionId(sessionId).getGameRoom().getId());
+
+        if (!Objects.equals(joinedGameRoomId, gameRoomId)) {
             throw new GameLogicException(GameExceptionCode.INVALID_REQUEST);
         }
     }
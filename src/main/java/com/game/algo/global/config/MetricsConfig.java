@@ -0,0 +1,72 @@
+package com.game.algo.global.config;
+
+import com.game.algo.algo.service.CommandDeduplicator;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.service.InboundRateLimiter;
+import com.game.algo.websocket.service.SessionHeartbeatSweeper;
+import com.game.algo.websocket.service.WebSocketService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 컴포넌트가 모아둔 카운터를 Micrometer 에 등록한다. /actuator/metrics 에서 조회할 수 있다.
+ * 값은 조회할 때 컴포넌트에서 읽어오므로, 메세지를 처리하는 경로에는 추가 비용이 없다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder inboundRateLimiterMetrics(InboundRateLimiter inboundRateLimiter) {
+        return registry -> {
+            for (MessageType type : MessageType.values()) {
+                FunctionCounter.builder("algo.websocket.inbound.rejected", inboundRateLimiter, limiter -> limiter.getRejectedCount(type))
+                        .description("한도를 넘어서 거절된 수신 프레임 수")
+                        .tag("type", type.name())
+                        .register(registry);
+                FunctionCounter.builder("algo.websocket.inbound.coalesced", inboundRateLimiter, limiter -> limiter.getCoalescedCount(type))
+                        .description("한도를 넘어서 합쳐진(버려진) 재전송 프레임 수")
+                        .tag("type", type.name())
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * 세션별로 태그를 달면 세션 수만큼 미터가 생기므로, 전체 합과 가장 깊은 큐만 올린다.
+     */
+    @Bean
+    public MeterBinder outboundQueueMetrics(WebSocketService webSocketService) {
+        return registry -> {
+            Gauge.builder("algo.websocket.outbound.queued", webSocketService,
+                            service -> service.getQueueDepths().values().stream().mapToInt(Integer::intValue).sum())
+                    .description("모든 세션의 송신 큐에서 대기중인 프레임 수")
+                    .register(registry);
+            Gauge.builder("algo.websocket.outbound.queue.max", webSocketService,
+                            service -> service.getQueueDepths().values().stream().mapToInt(Integer::intValue).max().orElse(0))
+                    .description("가장 많이 밀린 세션의 송신 큐 대기 프레임 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder commandDeduplicatorMetrics(CommandDeduplicator commandDeduplicator) {
+        return registry -> FunctionCounter.builder("algo.command.duplicate", commandDeduplicator, CommandDeduplicator::getDuplicateCount)
+                .description("실행하지 않고 기억한 결과로 응답한 재전송 커맨드 수")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder sessionHeartbeatMetrics(SessionHeartbeatSweeper sessionHeartbeatSweeper) {
+        return registry -> {
+            Gauge.builder("algo.websocket.sessions.alive", sessionHeartbeatSweeper, SessionHeartbeatSweeper::getAliveCount)
+                    .description("마지막으로 끝난 스윕 한 바퀴에서 살아있던 세션 수")
+                    .register(registry);
+            FunctionCounter.builder("algo.websocket.sessions.evicted", sessionHeartbeatSweeper, SessionHeartbeatSweeper::getEvictedCount)
+                    .description("응답이 없거나 전송이 막혀서 스위퍼가 닫은 세션 수")
+                    .register(registry);
+        };
+    }
+}
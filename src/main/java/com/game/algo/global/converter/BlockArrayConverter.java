@@ -2,55 +2,88 @@ package com.game.algo.global.converter;
 
 import com.game.algo.algo.data.BlockColor;
 import com.game.algo.algo.entity.Block;
-import org.jetbrains.annotations.NotNull;
+import com.game.algo.algo.entity.BlockHand;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * 블록 패를 VARBINARY 로 저장한다.
+ * [버전 1 byte] + [블록당 1 byte : 0~3 비트 숫자, 4 비트 색깔(흰색 = 1), 5 비트 공개여부]
+ *
+ * 이전 버전은 "-3&c,12&o" 형태의 문자열이었다. 버전 바이트는 문자열에 나올 수 없는 값이라
+ * 첫 바이트로 구분해서 이전 형식의 데이터도 읽을 수 있다.
+ */
 @Converter
-public class BlockArrayConverter implements AttributeConverter<List<Block>, String> {
+public class BlockArrayConverter implements AttributeConverter<BlockHand, byte[]> {
 
-    private static final String SPLIT_BLOCK_CHAR = ",";
+    private static final byte FORMAT_VERSION = 1;
 
-    private static final String SPLIT_STATUS_CHAR = "&";
+    private static final int NUM_MASK = 0x0F;
+
+    private static final int WHITE_BIT = 1 << 4;
+
+    private static final int OPEN_BIT = 1 << 5;
+
+    private static final char LEGACY_SPLIT_BLOCK_CHAR = ',';
+
+    private static final char LEGACY_SPLIT_STATUS_CHAR = '&';
 
     @Override
-    public String convertToDatabaseColumn(List<Block> blockList) {
-//        return attribute.stream().map(String::valueOf).collect(Collectors.joining(SPLIT_CHAR));
+    public byte[] convertToDatabaseColumn(BlockHand hand) {
+        byte[] dbData = new byte[hand.size() + 1];
+        dbData[0] = FORMAT_VERSION;
 
-        return blockList.stream()
-                .map(this::blockToString)
-                .collect(Collectors.joining(SPLIT_BLOCK_CHAR));
+        for (int i = 0; i < hand.size(); i++) {
+            dbData[i + 1] = (byte) (hand.getNum(i)
+                    | (hand.getBlockColor(i) == BlockColor.WHITE ? WHITE_BIT : 0)
+                    | (hand.isOpen(i) ? OPEN_BIT : 0));
+        }
+        return dbData;
     }
 
     @Override
-    public List<Block> convertToEntityAttribute(String dbData) {
-        if (dbData.equals("")){
-            return new ArrayList<>();
+    public BlockHand convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return new BlockHand();
         }
 
-        return Arrays.stream(dbData.split(SPLIT_BLOCK_CHAR))
-                .map(this::stringToBlock)
-                .collect(Collectors.toList());
+        if (dbData[0] == FORMAT_VERSION) {
+            return readVersion1(dbData);
+        }
+        return readLegacyString(new String(dbData, StandardCharsets.US_ASCII));
     }
 
-    @NotNull
-    private String blockToString(Block block) {
-        return block.getBlockCode(true)
-                + SPLIT_STATUS_CHAR
-                + (block.isOpen() ? "o" : "c");
+    private BlockHand readVersion1(byte[] dbData) {
+        BlockHand hand = new BlockHand();
+
+        for (int i = 1; i < dbData.length; i++) {
+            int block = dbData[i];
+            BlockColor blockColor = ((block & WHITE_BIT) != 0) ? BlockColor.WHITE : BlockColor.BLACK;
+            hand.append(blockColor, block & NUM_MASK, (block & OPEN_BIT) != 0);
+        }
+        return hand;
     }
 
-    @NotNull
-    private Block stringToBlock(String string) {
-        String[] split = string.split(SPLIT_STATUS_CHAR);
-        int code = Integer.parseInt(split[0]);
-        BlockColor blockColor = (code > 0) ? BlockColor.WHITE : BlockColor.BLACK;
-        boolean isOpen = split[1].equals("o");
-        return Block.create(blockColor, Block.parseBlockCode(code), isOpen);
+    private BlockHand readLegacyString(String dbData) {
+        BlockHand hand = new BlockHand();
+
+        int start = 0;
+        while (start < dbData.length()) {
+            int end = dbData.indexOf(LEGACY_SPLIT_BLOCK_CHAR, start);
+            if (end == -1) {
+                end = dbData.length();
+            }
+
+            int statusIndex = dbData.indexOf(LEGACY_SPLIT_STATUS_CHAR, start);
+            int code = Integer.parseInt(dbData, start, statusIndex, 10);
+            BlockColor blockColor = (code > 0) ? BlockColor.WHITE : BlockColor.BLACK;
+            boolean isOpen = dbData.charAt(statusIndex + 1) == 'o';
+            hand.append(blockColor, Block.parseBlockCode(code), isOpen);
+
+            start = end + 1;
+        }
+        return hand;
     }
 }
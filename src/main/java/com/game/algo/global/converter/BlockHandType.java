@@ -0,0 +1,95 @@
+package com.game.algo.global.converter;
+
+import com.game.algo.algo.entity.BlockHand;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * BlockHand 용 Hibernate 타입.
+ * AttributeConverter 를 그대로 쓰면 로딩 / flush 마다 스냅샷을 만들기 위해 변환을 왕복하고 내용 전체를 비교한다.
+ * 이 타입은 스냅샷을 배열 복사로 만들고, version 이 다르면 내용 비교 없이 바뀐 것으로 본다.
+ * version 은 저장되지 않아서 다시 로딩하거나 merge 한 패와는 같을 수 있으므로, version 이 같으면 내용을 비교한다.
+ * DB 포맷은 BlockArrayConverter 와 같다.
+ */
+public class BlockHandType implements UserType {
+
+    private static final BlockArrayConverter CODEC = new BlockArrayConverter();
+
+    @Override
+    public int[] sqlTypes() {
+        return new int[]{Types.VARBINARY};
+    }
+
+    @Override
+    public Class<BlockHand> returnedClass() {
+        return BlockHand.class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y) {
+        if (x == y) {
+            return true;
+        }
+        if (x == null || y == null) {
+            return false;
+        }
+        BlockHand xHand = (BlockHand) x;
+        BlockHand yHand = (BlockHand) y;
+        if (xHand.getVersion() != yHand.getVersion()) {
+            return false;
+        }
+        return xHand.equals(yHand);
+    }
+
+    @Override
+    public int hashCode(Object x) {
+        return x.hashCode();
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        return CODEC.convertToEntityAttribute(rs.getBytes(names[0]));
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.VARBINARY);
+            return;
+        }
+        st.setBytes(index, CODEC.convertToDatabaseColumn((BlockHand) value));
+    }
+
+    @Override
+    public Object deepCopy(Object value) {
+        return (value == null) ? null : ((BlockHand) value).copy();
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(Object value) {
+        return (value == null) ? null : CODEC.convertToDatabaseColumn((BlockHand) value);
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner) {
+        return (cached == null) ? null : CODEC.convertToEntityAttribute((byte[]) cached);
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner) {
+        return deepCopy(original);
+    }
+}
@@ -1,22 +1,63 @@
 package com.game.algo.websocket.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebSocket
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
     private final WebSocketHandler webSocketHandler;
 
+    @Value("${algo.websocket.compression.permessage-deflate:false}")
+    private boolean permessageDeflate;
+
 
+    /**
+     * 컨테이너의 permessage-deflate 는 협상되면 작은 프레임까지 모두 압축하므로 기본으로 끄고,
+     * 크기 기준 압축은 버전 확인 때 정하는 FrameCompression 으로 한다.
+     */
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(webSocketHandler, "/ws/algo").setAllowedOrigins("*");
+        registry.addHandler(webSocketHandler, "/ws/algo")
+                .setAllowedOrigins("*")
+                .setHandshakeHandler(new ExtensionFilteringHandshakeHandler(permessageDeflate));
+    }
+
+
+    private static class ExtensionFilteringHandshakeHandler extends DefaultHandshakeHandler {
+
+        private final boolean permessageDeflate;
+
+        private ExtensionFilteringHandshakeHandler(boolean permessageDeflate) {
+            this.permessageDeflate = permessageDeflate;
+        }
+
+        @Override
+        protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                     List<WebSocketExtension> requestedExtensions,
+                                                                     List<WebSocketExtension> supportedExtensions) {
+            List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+            if (permessageDeflate) {
+                return extensions;
+            }
+            return extensions.stream()
+                    .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                    .collect(Collectors.toList());
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.game.algo.websocket.data;
+
+/**
+ * 세션이 버전 확인 때 고른 압축 방식.
+ * DEFLATE 면 크기 기준(min-size) 이상인 프레임만 [0xFE][raw deflate(원래 프레임)] 로 보내고, 작은 프레임은 그대로 보낸다.
+ */
+public enum FrameCompression {
+
+    NONE,
+    DEFLATE;
+
+    public static FrameCompression from(String name) {
+        return "deflate".equalsIgnoreCase(name) ? DEFLATE : NONE;
+    }
+}
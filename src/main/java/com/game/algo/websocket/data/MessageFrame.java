@@ -0,0 +1,30 @@
+package com.game.algo.websocket.data;
+
+import org.springframework.web.socket.BinaryMessage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 한번 직렬화된 불변 프레임. 여러 세션에 보낼 때 바이트 배열은 공유하고
+ * 세션마다 위치(position)가 따로 움직이도록 ByteBuffer 뷰만 새로 만든다.
+ */
+public final class MessageFrame {
+
+    private final byte[] bytes;
+
+    private MessageFrame(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static MessageFrame wrap(byte[] bytes) {
+        return new MessageFrame(bytes);
+    }
+
+    public BinaryMessage toBinaryMessage() {
+        return new BinaryMessage(ByteBuffer.wrap(bytes), true);
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+}
@@ -1,30 +1,53 @@
 package com.game.algo.websocket.data;
 
+/**
+ * code 는 바이너리 프레임의 첫 바이트로 나가는 고정 값이다.
+ * 선언 순서와 무관하므로 상수를 옮겨도 되지만, 한번 배포한 code 는 바꾸거나 재사용하지 않는다.
+ * '{'(0x7B) 와 FrameCompressor.COMPRESSED_MARKER(0xFE) 는 쓰지 않는다.
+ */
 public enum MessageType {
 
-    Version,
-    SessionId,
-    PlayerCreate,
-    SetSessionId,
-    PlayerSimple,
-    GameRoomCreate,
-    CreateRoomSuccess,
-    JoinRoomSuccess,
-    JoinRoomFail, // 재검토 필요
-    GameRoomJoin,
-    GameRoomFind,
-    GameRoomExit,
-    PlayerReadyUpdate,
-    GameStart,
-    StartBlockDraw,
-    BlockDraw,
-    JokerUpdate, // 핸들러에서 받아서 업데이트
-    BlockGuess,
-    GuessRepeat,
-    NextPhase,
-    WaitForSec,
-    DrawBlockData, // draw 페이즈 끝날때 만들어서 보내기
-    GameStatusData,
-    OwnerBlockData,
-    Exception;
+    Version(0),
+    SessionId(1),
+    PlayerCreate(2),
+    SetSessionId(3),
+    PlayerSimple(4),
+    GameRoomCreate(5),
+    CreateRoomSuccess(6),
+    JoinRoomSuccess(7),
+    JoinRoomFail(8), // 재검토 필요
+    GameRoomJoin(9),
+    GameRoomFind(10),
+    GameRoomExit(11),
+    PlayerReadyUpdate(12),
+    GameStart(13),
+    StartBlockDraw(14),
+    BlockDraw(15),
+    JokerUpdate(16), // 핸들러에서 받아서 업데이트
+    BlockGuess(17),
+    GuessRepeat(18),
+    NextPhase(19),
+    WaitForSec(20),
+    DrawBlockData(21), // draw 페이즈 끝날때 만들어서 보내기
+    GameStatusData(22),
+    OwnerBlockData(25),
+    Exception(28),
+    GameData(27), // 페이즈가 바뀔때 플레이어별 ResponseGameData 를 통째로 보낸다 (update 후 재조회 대체)
+    GameStatusDelta(23), // 바뀐 필드만 담은 GameStatusData, sequence 가 비면 GameStatusSnapshot 으로 전체를 다시 요청
+    GameStatusSnapshot(24),
+    PhaseUpdate(26), // 페이즈 전환 한번에 WaitForSec / OwnerBlockData / 상태 / DrawBlockData 를 묶어서 보낸다
+    ResumeToken(29), // 플레이어 생성 / 세션 지정 때 발급, 연결이 끊기면 이 토큰으로 SessionResume 을 보낸다
+    SessionResume(30),
+    Ping(31), // 한동안 받은 프레임이 없으면 서버가 보낸다, 클라이언트는 Pong 으로 응답
+    Pong(32);
+
+    private final int code;
+
+    MessageType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
 }
@@ -0,0 +1,10 @@
+package com.game.algo.websocket.data;
+
+/**
+ * 세션의 송신 큐가 한도(개수 / 바이트)를 넘었을 때의 처리 방법
+ */
+public enum OverflowPolicy {
+
+    DROP_STALE, // 새 상태로 대체되는 프레임(GameStatusData 등)을 오래된 것부터 버린다. 버릴 프레임이 없으면 세션을 닫는다.
+    CLOSE; // 바로 세션을 닫는다.
+}
@@ -0,0 +1,25 @@
+package com.game.algo.websocket.data;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 세션에 연결된 플레이어와 그 플레이어가 참여중인 방. 방에 참여하지 않았다면 gameRoomId 는 null
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SessionMember {
+
+    private final Long playerId;
+
+    private final Long gameRoomId;
+
+    public static SessionMember create(Long playerId, Long gameRoomId) {
+        return new SessionMember(playerId, gameRoomId);
+    }
+
+    public SessionMember withGameRoomId(Long gameRoomId) {
+        return new SessionMember(playerId, gameRoomId);
+    }
+}
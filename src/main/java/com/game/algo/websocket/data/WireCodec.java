@@ -0,0 +1,25 @@
+package com.game.algo.websocket.data;
+
+/**
+ * 세션이 버전 확인 때 고른 송신 형식. 바이너리 형식이 없는 메세지는 BINARY 세션에도 JSON 으로 보낸다.
+ * 첫 바이트가 '{' 이면 JSON, 0xFE 면 압축된 프레임(FrameCompression), 아니면 MessageType 의 code 로 시작하는 바이너리 프레임이다.
+ */
+public enum WireCodec {
+
+    JSON,
+    BINARY,
+    LEGACY_JSON; // message 를 JSON 문자열로 한번 더 감싼 이전 형식
+
+    /**
+     * @param fallback 클라이언트가 형식을 지정하지 않았을 때
+     */
+    public static WireCodec from(String name, WireCodec fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        if ("binary".equalsIgnoreCase(name)) {
+            return BINARY;
+        }
+        return "legacy".equalsIgnoreCase(name) ? LEGACY_JSON : JSON;
+    }
+}
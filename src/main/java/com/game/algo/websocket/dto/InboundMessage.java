@@ -0,0 +1,24 @@
+package com.game.algo.websocket.dto;
+
+import com.game.algo.websocket.data.MessageType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 역직렬화까지 끝난 수신 메세지. payload 는 MessageType 에 등록된 타입이며, 본문이 없으면 null
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class InboundMessage {
+
+    private MessageType type;
+
+    private Object payload;
+
+    private String commandId; // 없으면 null
+
+    public static InboundMessage create(MessageType type, Object payload, String commandId) {
+        return new InboundMessage(type, payload, commandId);
+    }
+}
@@ -13,4 +13,6 @@ public class MessageDataRequest {
     private MessageType type;
 
     private String message;
+
+    private String commandId; // 재전송 중복 제거용, 클라이언트가 커맨드마다 정하는 id (선택)
 }
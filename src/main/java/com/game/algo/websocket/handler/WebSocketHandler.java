@@ -1,27 +1,37 @@
 package com.game.algo.websocket.handler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.algo.algo.controller.GameWebSocketMessageController;
 import com.game.algo.algo.data.GameProperty;
 import com.game.algo.algo.dto.request.*;
+import com.game.algo.algo.exception.GameExceptionCode;
 import com.game.algo.algo.exception.GameLogicException;
+import com.game.algo.algo.service.CommandDeduplicator;
+import com.game.algo.websocket.data.FrameCompression;
 import com.game.algo.websocket.data.MessageType;
-import com.game.algo.websocket.dto.MessageDataRequest;
+import com.game.algo.websocket.data.WireCodec;
+import com.game.algo.websocket.dto.InboundMessage;
 import com.game.algo.websocket.dto.MessageDataResponse;
+import com.game.algo.websocket.service.InboundCommandExecutor;
+import com.game.algo.websocket.service.InboundMessageDecoder;
+import com.game.algo.websocket.service.InboundRateLimiter;
+import com.game.algo.websocket.service.SessionResumeManager;
 import com.game.algo.websocket.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.BinaryWebSocketHandler;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -30,7 +40,22 @@ public class WebSocketHandler extends BinaryWebSocketHandler {
 
     private final GameWebSocketMessageController gameMessageController;
     private final WebSocketService webSocketService;
-    private final ObjectMapper objectMapper;
+    private final InboundMessageDecoder inboundMessageDecoder;
+    private final InboundCommandExecutor inboundCommandExecutor;
+    private final InboundRateLimiter inboundRateLimiter;
+    private final SessionResumeManager sessionResumeManager;
+    private final CommandDeduplicator commandDeduplicator;
+
+    private final Map<MessageType, MessageRoute<?>> routes = new EnumMap<>(MessageType.class);
+
+    @Value("${algo.websocket.legacy-string-message:false}")
+    private boolean legacyStringMessage;
+
+    @Value("${algo.websocket.binary-codec-enabled:true}")
+    private boolean binaryCodecEnabled;
+
+    @Value("${algo.websocket.compression.enabled:true}")
+    private boolean compressionEnabled;
 
 
     @Override
@@ -39,141 +64,179 @@ public class WebSocketHandler extends BinaryWebSocketHandler {
 
         System.out.println("connect : " + sessionId);
         webSocketService.addClient(sessionId, session);
+        webSocketService.updateCodec(sessionId, defaultCodec());
+        inboundRateLimiter.register(sessionId);
         sendSessionId(sessionId);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        String sessionId = session.getId();
+        Runnable disconnect = () -> disconnect(sessionId);
+
+        // 이미 받은 커맨드가 모두 처리된 뒤에 끊어지도록 같은 레인에 넣는다
+        if (!inboundCommandExecutor.execute(sessionId, null, disconnect)) {
+            disconnect.run();
+        }
+    }
+
+    /**
+     * 재접속 토큰이 있는 세션은 유예 시간이 지난 뒤에 Player 를 disconnect 한다.
+     */
+    private void disconnect(String sessionId) {
+        try {
+            if (!sessionResumeManager.suspend(sessionId, () -> expireSession(sessionId))) {
+                disconnectPlayer(sessionId);
+            }
+        } finally {
+            webSocketService.removeClient(sessionId);
+            inboundRateLimiter.release(sessionId);
+        }
+    }
+
+    // 타이머 스레드에서 호출되므로 실제 처리는 레인으로 넘긴다
+    private void expireSession(String sessionId) {
+        Runnable disconnect = () -> disconnectPlayer(sessionId);
+
+        if (!inboundCommandExecutor.execute(sessionId, null, disconnect)) {
+            disconnect.run();
+        }
+    }
+
+    private void disconnectPlayer(String sessionId) {
         try {
-            gameMessageController.disconnectWebSession(session.getId());
-            webSocketService.removeClient(session.getId());
+            gameMessageController.disconnectWebSession(sessionId);
         } catch (GameLogicException ignored) {
         } catch (Exception e) {
             log.error(e.getMessage());
         }
     }
 
+    /**
+     * 디코딩과 요청 수 제한만 I/O 스레드에서 하고, 처리는 InboundCommandExecutor 의 방(또는 세션) 레인으로 넘긴다.
+     */
     @Override
     protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
         String sessionId = session.getId();
+        webSocketService.markReceived(sessionId);
 
-        String input = new String(message.getPayload().array(), StandardCharsets.UTF_8);
-
-        MessageDataRequest messageDataRequest = objectMapper.readValue(input, MessageDataRequest.class);
-
-        MessageType type = messageDataRequest.getType();
-        String requestMessage = messageDataRequest.getMessage();
-
-        log.info("MessageData : sessionId:{} / type:{} / message:{}", sessionId, type, requestMessage);
-
-
-        // 메서드로 뺄 가능성 있음
+        InboundMessage inboundMessage;
         try {
-            switch (type) {
-                case SessionId:
-                    sendSessionId(sessionId);
-                    break;
-
-                case NextPhase:
-                    NextPhase nextPhase = objectMapper.readValue(requestMessage, NextPhase.class);
-
-                    nextPhase(nextPhase);
-                    break;
-
-                case PlayerCreate:
-                    PlayerCreate playerCreate = objectMapper.readValue(requestMessage, PlayerCreate.class);
-
-                    gameMessageController.createPlayer(playerCreate);
-                    break;
-
-                case SetSessionId:
-                    Long playerId = Long.parseLong(requestMessage);
-
-                    gameMessageController.setSessionIdForPlayer(playerId, sessionId);
-                    break;
-
-                case GameRoomCreate:
-                    GameRoomCreate gameRoomCreate = objectMapper.readValue(requestMessage, GameRoomCreate.class);
-
-                    gameMessageController.createGameRoom(gameRoomCreate);
-                    break;
-
-                case GameRoomJoin:
-                    GameRoomJoin gameRoomJoin = objectMapper.readValue(requestMessage, GameRoomJoin.class);
-
-                    gameMessageController.joinGameRoom(gameRoomJoin);
-                    break;
-
-                case GameRoomFind:
-                    Integer page = Integer.parseInt(requestMessage);
-
-                    gameMessageController.findGameRoom(sessionId, page);
-                    break;
-
-                case GameRoomExit:
-                    gameMessageController.exitGameRoom(sessionId);
-                    break;
-
-                case PlayerReadyUpdate:
-                    PlayerReadyUpdate playerReadyUpdate = objectMapper.readValue(requestMessage, PlayerReadyUpdate.class);
-
-                    gameMessageController.updatePlayerReady(playerReadyUpdate);
-                    break;
-
-                case GameStart:
-                    GameStart gameStart = objectMapper.readValue(requestMessage, GameStart.class);
-
-                    gameMessageController.gameStart(gameStart);
-                    break;
-
-                case StartBlockDraw:
-                    StartBlockDraw startBlockDraw = objectMapper.readValue(requestMessage, StartBlockDraw.class);
-
-                    gameMessageController.drawBlockAtStart(startBlockDraw);
-                    break;
-
-                case BlockDraw:
-                    BlockDraw blockDraw = objectMapper.readValue(requestMessage, BlockDraw.class);
+            inboundMessage = inboundMessageDecoder.decode(message.getPayload(), this::payloadTypeOf);
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.Exception, e.getMessage()));
+            return;
+        }
 
-                    gameMessageController.drawBlockAtDrawPhase(blockDraw);
-                    break;
+        if (inboundMessage.getType() == MessageType.Pong) { // 수신 시각 기록만 하면 된다
+            return;
+        }
 
-                case JokerUpdate:
-                    JokerUpdate jokerUpdate = objectMapper.readValue(requestMessage, JokerUpdate.class);
+        InboundRateLimiter.Decision decision = inboundRateLimiter.tryAcquire(sessionId, inboundMessage.getType());
+        if (decision == InboundRateLimiter.Decision.COALESCE) {
+            log.debug("coalesced : sessionId:{} / type:{}", sessionId, inboundMessage.getType());
+            return;
+        }
+        if (decision == InboundRateLimiter.Decision.REJECT) {
+            log.warn("rate limited : sessionId:{} / type:{}", sessionId, inboundMessage.getType());
+            webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.Exception, "too many requests"));
+            return;
+        }
 
-                    gameMessageController.updateJoker(jokerUpdate);
-                    break;
+        log.info("MessageData : sessionId:{} / type:{}", sessionId, inboundMessage.getType());
 
-                case BlockGuess:
-                    BlockGuess blockGuess = objectMapper.readValue(requestMessage, BlockGuess.class);
+        Long gameRoomId = (inboundMessage.getPayload() instanceof GameRoomRequest gameRoomRequest)
+                ? gameRoomRequest.getGameRoomId() : null;
 
-                    gameMessageController.guessBlock(blockGuess);
-                    break;
+        if (!inboundCommandExecutor.execute(sessionId, gameRoomId, () -> dispatch(sessionId, gameRoomId, inboundMessage))) {
+            log.warn("inbound queue is full : sessionId:{} / type:{}", sessionId, inboundMessage.getType());
+            webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.Exception, "server busy"));
+        }
+    }
 
-                case GuessRepeat:
-                    GuessRepeat guessRepeat = objectMapper.readValue(requestMessage, GuessRepeat.class);
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+        webSocketService.markReceived(session.getId());
+    }
 
-                    gameMessageController.choiceRepeatGuess(guessRepeat);
-                    break;
+    /**
+     * commandId 가 붙은 방 커맨드는 CommandDeduplicator 를 거쳐서, 재전송된 커맨드는 다시 실행하지 않는다.
+     */
+    private void dispatch(String sessionId, Long gameRoomId, InboundMessage inboundMessage) {
+        try {
+            try {
+                MessageRoute<?> route = routes.get(inboundMessage.getType());
+                if (route != null) {
+                    commandDeduplicator.execute(gameRoomId, sessionId, inboundMessage.getCommandId(), () -> {
+                        route.handle(sessionId, inboundMessage.getPayload());
+                        return null;
+                    });
+                }
+            } catch (GameLogicException gameLogicException) {
+                log.error("game logic exception : " + gameLogicException.getMessage());
+                webSocketService.sendMessage(sessionId,
+                        MessageDataResponse.create(MessageType.Exception, gameLogicException.getMessage()));
+
+            } catch (Exception e) {
+                log.error(e.getMessage());
+                webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.Exception, e.getMessage()));
             }
-        } catch (GameLogicException gameLogicException) {
-            log.error("game logic exception : " + gameLogicException.getMessage());
-            webSocketService.sendMessage(sessionId,
-                    MessageDataResponse.create(MessageType.Exception, gameLogicException.getMessage()));
+        } catch (IOException e) {
+            log.error("exception message send fail : sessionId:{} / {}", sessionId, e.getMessage());
+        }
+    }
 
-        } catch (CannotAcquireLockException e) {
-            log.info("CannotAcquireLockException by session id : " + sessionId);
+    /**
+     * 클라이언트가 보낼 수 있는 MessageType 과 payload 타입, 처리 메서드를 등록한다.
+     */
+    @PostConstruct
+    void initRoutes() {
+        route(MessageType.SessionId, null, (sessionId, ignored) -> sendSessionId(sessionId));
+        route(MessageType.Version, CheckVersion.class, this::checkVersion);
+        route(MessageType.NextPhase, NextPhase.class, (sessionId, nextPhase) -> nextPhase(nextPhase));
+        route(MessageType.PlayerCreate, PlayerCreate.class, (sessionId, playerCreate) -> gameMessageController.createPlayer(playerCreate));
+        route(MessageType.SetSessionId, Long.class, (sessionId, playerId) -> gameMessageController.setSessionIdForPlayer(playerId, sessionId));
+        route(MessageType.SessionResume, SessionResume.class, gameMessageController::resumeSession);
+        route(MessageType.GameRoomCreate, GameRoomCreate.class, (sessionId, gameRoomCreate) -> gameMessageController.createGameRoom(gameRoomCreate));
+        route(MessageType.GameRoomJoin, GameRoomJoin.class, (sessionId, gameRoomJoin) -> gameMessageController.joinGameRoom(gameRoomJoin));
+        route(MessageType.GameRoomFind, Integer.class, gameMessageController::findGameRoom);
+        route(MessageType.GameRoomExit, null, (sessionId, ignored) -> gameMessageController.exitGameRoom(sessionId));
+        route(MessageType.PlayerReadyUpdate, PlayerReadyUpdate.class, (sessionId, playerReadyUpdate) -> gameMessageController.updatePlayerReady(playerReadyUpdate));
+        route(MessageType.GameStart, GameStart.class, (sessionId, gameStart) -> gameMessageController.gameStart(gameStart));
+        route(MessageType.StartBlockDraw, StartBlockDraw.class, (sessionId, startBlockDraw) -> gameMessageController.drawBlockAtStart(startBlockDraw));
+        route(MessageType.BlockDraw, BlockDraw.class, (sessionId, blockDraw) -> gameMessageController.drawBlockAtDrawPhase(blockDraw));
+        route(MessageType.JokerUpdate, JokerUpdate.class, (sessionId, jokerUpdate) -> gameMessageController.updateJoker(jokerUpdate));
+        route(MessageType.BlockGuess, BlockGuess.class, (sessionId, blockGuess) -> gameMessageController.guessBlock(blockGuess));
+        route(MessageType.GameStatusSnapshot, null, (sessionId, ignored) -> gameMessageController.sendGameStatusSnapshot(sessionId));
+        route(MessageType.GuessRepeat, GuessRepeat.class, (sessionId, guessRepeat) -> gameMessageController.choiceRepeatGuess(guessRepeat));
+    }
 
-        } catch (Exception e) {
-            log.error(e.getMessage());
-            webSocketService.sendMessage(sessionId, MessageDataResponse.create(MessageType.Exception, e.getMessage()));
+    /**
+     * 버전이 맞으면 클라이언트가 원하는 송신 형식(JSON / 바이너리 / legacy)과 압축 방식을 정한다.
+     * 형식을 지정하지 않은 클라이언트는 기본 형식을 사용한다.
+     * 응답은 항상 압축하지 않은 이전 형식으로 보내고, 그 다음 프레임부터 정해진 형식을 사용한다.
+     */
+    private void checkVersion(String sessionId, CheckVersion checkVersion) throws IOException {
+        if (!GameProperty.VERSION.equals(checkVersion.getVersion())) {
+            throw new GameLogicException(GameExceptionCode.INVALID_VERSION);
         }
 
-    }
+        WireCodec codec = WireCodec.from(checkVersion.getCodec(), defaultCodec());
+        if (codec == WireCodec.BINARY && !binaryCodecEnabled) {
+            codec = WireCodec.JSON;
+        }
+        FrameCompression compression = compressionEnabled ? FrameCompression.from(checkVersion.getCompression()) : FrameCompression.NONE;
 
-    private void sendGameVersion(String sessionId) throws IOException {
-        MessageDataResponse messageDataResponse = new MessageDataResponse(MessageType.Version, GameProperty.VERSION);
+        MessageDataResponse messageDataResponse = new MessageDataResponse(MessageType.Version,
+                new CheckVersion(GameProperty.VERSION, codec.name(), compression.name()));
         webSocketService.sendMessage(sessionId, messageDataResponse);
+        webSocketService.updateCodec(sessionId, codec);
+        webSocketService.updateCompression(sessionId, compression);
+    }
+
+    private WireCodec defaultCodec() {
+        return legacyStringMessage ? WireCodec.LEGACY_JSON : WireCodec.JSON;
     }
 
     private void sendSessionId(String sessionId) throws Exception {
@@ -216,4 +279,35 @@ public class WebSocketHandler extends BinaryWebSocketHandler {
                 break;
         }
     }
+
+    private <T> void route(MessageType type, Class<T> payloadType, MessageHandler<T> handler) {
+        routes.put(type, new MessageRoute<>(payloadType, handler));
+    }
+
+    private Class<?> payloadTypeOf(MessageType type) {
+        MessageRoute<?> route = routes.get(type);
+        return (route == null) ? null : route.payloadType;
+    }
+
+
+    @FunctionalInterface
+    private interface MessageHandler<T> {
+        void handle(String sessionId, T payload) throws Exception;
+    }
+
+    private static class MessageRoute<T> {
+
+        private final Class<T> payloadType;
+        private final MessageHandler<T> handler;
+
+        private MessageRoute(Class<T> payloadType, MessageHandler<T> handler) {
+            this.payloadType = payloadType;
+            this.handler = handler;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void handle(String sessionId, Object payload) throws Exception {
+            handler.handle(sessionId, (T) payload);
+        }
+    }
 }
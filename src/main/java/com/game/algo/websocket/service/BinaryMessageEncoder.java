@@ -0,0 +1,109 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.game.algo.algo.dto.response.DrawBlockData;
+import com.game.algo.algo.dto.response.GameStatusData;
+import com.game.algo.algo.dto.response.OwnerBlockData;
+import com.game.algo.algo.dto.response.PlayerGameData;
+import com.game.algo.websocket.data.MessageType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 자주 보내는 메세지를 고정 레이아웃의 바이너리로 직렬화한다.
+ * [MessageType code 1byte][본문] 이며, id / 길이는 varint, 블록 코드는 signed byte 로 쓴다.
+ *
+ * GameStatusData : varint id, phase ordinal, progressPlayerNumber, whiteBlockCount, blackBlockCount,
+ *                  varint (sequence + 1, 없으면 0), 플레이어 수 (SORT 페이즈로 숨겨졌으면 0xFF), 플레이어 목록
+ * PlayerGameData : varint id, string name, orderNumber, drawBlockIndexNum(signed), flags(ready | retire << 1), blockCodes
+ * OwnerBlockData : string sessionId, blockCodes
+ * DrawBlockData  : string sessionId, blockCodes, drawBlockCode(signed)
+ * string = varint 길이 + UTF-8 / blockCodes = 개수 1byte + 코드마다 signed byte / null 정수는 -1
+ * 전환마다 나가는 PhaseUpdate / GameStatusDelta 는 아직 레이아웃이 없어 BINARY 세션에도 JSON 으로 나간다.
+ */
+@Component
+public class BinaryMessageEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private static final int HIDDEN_PLAYER_DATA = 0xFF;
+
+    private static final ThreadLocal<ByteArrayBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+
+
+    /**
+     * 바이너리 레이아웃이 없는 메세지라면 null
+     */
+    public byte[] encode(MessageType type, Object message) {
+        ByteArrayBuilder buffer = BUFFERS.get();
+        buffer.reset();
+
+        if (message instanceof GameStatusData gameStatusData) {
+            buffer.append(type.getCode());
+            writeGameStatusData(buffer, gameStatusData);
+        } else if (message instanceof OwnerBlockData ownerBlockData) {
+            buffer.append(type.getCode());
+            writeString(buffer, ownerBlockData.getSessionId());
+            writeBlockCodes(buffer, ownerBlockData.getBlockCodeList());
+        } else if (message instanceof DrawBlockData drawBlockData) {
+            buffer.append(type.getCode());
+            writeString(buffer, drawBlockData.getSessionId());
+            writeBlockCodes(buffer, drawBlockData.getBlockCodeList());
+            writeSmallInt(buffer, drawBlockData.getDrawBlockCode());
+        } else {
+            return null;
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeGameStatusData(ByteArrayBuilder buffer, GameStatusData gameStatusData) {
+        writeVarLong(buffer, gameStatusData.getId() == null ? 0 : gameStatusData.getId());
+        buffer.append(gameStatusData.getPhase().ordinal());
+        writeSmallInt(buffer, gameStatusData.getProgressPlayerNumber());
+        writeSmallInt(buffer, gameStatusData.getWhiteBlockCount());
+        writeSmallInt(buffer, gameStatusData.getBlackBlockCount());
+        writeVarLong(buffer, gameStatusData.getSequence() == null ? 0 : gameStatusData.getSequence() + 1);
+
+        List<PlayerGameData> playerDataList = gameStatusData.getPlayerDataList();
+        if (playerDataList == null) {
+            buffer.append(HIDDEN_PLAYER_DATA);
+            return;
+        }
+
+        buffer.append(playerDataList.size());
+        for (PlayerGameData playerGameData : playerDataList) {
+            writeVarLong(buffer, playerGameData.getId() == null ? 0 : playerGameData.getId());
+            writeString(buffer, playerGameData.getName());
+            writeSmallInt(buffer, playerGameData.getOrderNumber());
+            writeSmallInt(buffer, playerGameData.getDrawBlockIndexNum());
+            buffer.append((playerGameData.isReady() ? 1 : 0) | (playerGameData.isRetire() ? 2 : 0));
+            writeBlockCodes(buffer, playerGameData.getBlockCodeList());
+        }
+    }
+
+    private void writeBlockCodes(ByteArrayBuilder buffer, List<Integer> blockCodeList) {
+        buffer.append(blockCodeList.size());
+        blockCodeList.forEach(blockCode -> buffer.append(blockCode.byteValue()));
+    }
+
+    private void writeSmallInt(ByteArrayBuilder buffer, Integer value) {
+        buffer.append(value == null ? -1 : value.byteValue());
+    }
+
+    private void writeString(ByteArrayBuilder buffer, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        writeVarLong(buffer, bytes.length);
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    private void writeVarLong(ByteArrayBuilder buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.append((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.append((int) value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.zip.Deflater;
+
+/**
+ * minSize 이상인 프레임을 raw deflate 로 압축하고 앞에 COMPRESSED_MARKER 를 붙인다.
+ * 컨테이너의 permessage-deflate 는 협상되면 모든 프레임을 압축하므로, WaitForSec 같은 작은 프레임의 CPU 비용을 줄이려고 직접 한다.
+ * Deflater 와 버퍼는 스레드마다 재사용하고, 압축해도 작아지지 않으면 원래 프레임을 그대로 돌려준다.
+ */
+@Component
+public class FrameCompressor {
+
+    public static final int COMPRESSED_MARKER = 0xFE; // JSON('{') / 바이너리(MessageType code) 프레임의 첫 바이트와 겹치지 않는다
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int CHUNK_SIZE = 1024;
+
+    private final int minSize;
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<ByteArrayBuilder> buffers = ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+    private final ThreadLocal<byte[]> chunks = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    @Autowired
+    public FrameCompressor(@Value("${algo.websocket.compression.min-size:512}") int minSize,
+                           @Value("${algo.websocket.compression.level:1}") int level) {
+        this.minSize = minSize;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+
+    public byte[] compress(byte[] frame) {
+        if (frame.length < minSize) {
+            return frame;
+        }
+
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        deflater.setInput(frame);
+        deflater.finish();
+
+        ByteArrayBuilder buffer = buffers.get();
+        buffer.reset();
+        buffer.append(COMPRESSED_MARKER);
+
+        byte[] chunk = chunks.get();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            buffer.write(chunk, 0, length);
+            if (buffer.size() >= frame.length) {
+                return frame; // 압축 효과가 없는 프레임
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+}
@@ -0,0 +1,241 @@
+package com.game.algo.websocket.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 웹소켓으로 받은 커맨드를 I/O 스레드에서 바로 실행하지 않고 레인(lane) 단위로 워커에 넘긴다.
+ * 같은 방의 커맨드는 같은 레인에서 도착 순서대로 실행되고, 방을 모르는 커맨드는 세션의 앞선 커맨드가 남아 있으면
+ * 그 방의 레인을, 없으면 세션 레인을 사용한다.
+ * 세션의 레인이 바뀔 때는 이전 레인에 남은 그 세션의 커맨드가 모두 끝난 뒤에 새 레인으로 넘기므로 한 세션의 순서도 유지된다.
+ * 레인과 세션 정보는 처리할 커맨드가 없어지면 바로 지우므로, 끊어진 세션이나 삭제된 방의 레인이 남지 않는다.
+ * JDK 21 에서 virtual-threads 를 켜면 가상 스레드를, 아니면 크기가 정해진 플랫폼 스레드 풀을 사용한다.
+ */
+@Slf4j
+@Component
+public class InboundCommandExecutor {
+
+    private static final int DRAIN_BATCH_SIZE = 32; // 한 레인이 워커를 독점하지 않도록
+
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, SessionRoute> sessionRoutes = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final boolean async;
+    private final int capacity;
+    private final ExecutorService workers;
+
+    @Autowired
+    public InboundCommandExecutor(@Value("${algo.websocket.inbound.async:true}") boolean async,
+                                  @Value("${algo.websocket.inbound.virtual-threads:false}") boolean virtualThreads,
+                                  @Value("${algo.websocket.inbound.pool-size:0}") int poolSize,
+                                  @Value("${algo.websocket.inbound.capacity:10000}") int capacity) {
+        this(async, capacity, async ? newWorkers(virtualThreads, poolSize) : null);
+    }
+
+    InboundCommandExecutor(boolean async, int capacity, ExecutorService workers) {
+        this.async = async;
+        this.capacity = capacity;
+        this.workers = workers;
+    }
+
+    /**
+     * @param gameRoomId 커맨드가 가리키는 방, 모르면 null
+     * @return 대기중인 커맨드가 너무 많아 받지 않았다면 false
+     */
+    public boolean execute(String sessionId, Long gameRoomId, Runnable command) {
+        if (!async) {
+            command.run();
+            return true;
+        }
+
+        if (pendingCount.incrementAndGet() > capacity) {
+            pendingCount.decrementAndGet();
+            return false;
+        }
+
+        while (!sessionRoutes.computeIfAbsent(sessionId, SessionRoute::new).add(gameRoomId, command)) {
+            // 방금 비어서 지워진 세션 정보, 새로 만들어서 다시 넣는다
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * 큐에 넣는 것과 빈 레인을 지우는 것이 같은 버킷 락 안에서 일어나므로, 지워진 레인에 커맨드가 들어가지 않는다.
+     */
+    private void enqueue(Object laneKey, Runnable command) {
+        Lane lane = lanes.compute(laneKey, (key, present) -> {
+            Lane target = (present != null) ? present : new Lane(key);
+            target.queue.add(command);
+            return target;
+        });
+        lane.schedule();
+    }
+
+    private static ExecutorService newWorkers(boolean virtualThreads, int poolSize) {
+        if (virtualThreads) {
+            try { // JDK 21 이상에서만 존재하므로 17 로 빌드해도 컴파일되도록 리플렉션으로 찾는다
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("virtual threads are not available, use platform thread pool");
+            }
+        }
+
+        int threads = (poolSize > 0) ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "websocket-inbound-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    private class Lane {
+
+        private final Object key;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Lane(Object key) {
+            this.key = key;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                    Runnable command = queue.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    pendingCount.decrementAndGet();
+                    runSafely(command);
+                }
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * 비어있는 레인은 지우고, 남은 커맨드가 있으면 다시 워커에 맡긴다.
+         */
+        private void release() {
+            lanes.computeIfPresent(key, (laneKey, lane) -> (lane == this && queue.isEmpty()) ? null : lane);
+            scheduled.set(false);
+
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void runSafely(Runnable command) {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                log.error("inbound command fail : lane:{} / {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 한 세션의 커맨드가 어느 레인에 들어가 있는지 기억한다.
+     * 레인이 바뀌면 새 커맨드는 held 에 모아 두었다가, 이전 레인에 넣은 커맨드가 모두 끝나면 순서대로 새 레인에 넣는다.
+     */
+    private class SessionRoute {
+
+        private final String sessionId;
+        private final Deque<HeldCommand> held = new ArrayDeque<>();
+        private Object laneKey; // 지금 이 세션의 커맨드를 넣고 있는 레인
+        private Long gameRoomId; // 마지막으로 사용한 방
+        private int running; // laneKey 레인에 넣었지만 아직 끝나지 않은 커맨드 수
+        private boolean removed;
+
+        private SessionRoute(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * @return 이미 지워진 세션 정보라면 false
+         */
+        private synchronized boolean add(Long requestGameRoomId, Runnable command) {
+            if (removed) {
+                return false;
+            }
+            if (requestGameRoomId != null) {
+                gameRoomId = requestGameRoomId;
+            }
+
+            Object target = (gameRoomId != null) ? gameRoomId : sessionId;
+            if (held.isEmpty() && (running == 0 || target.equals(laneKey))) {
+                dispatch(target, command);
+            } else {
+                held.addLast(new HeldCommand(target, command));
+            }
+            return true;
+        }
+
+        private void dispatch(Object target, Runnable command) {
+            laneKey = target;
+            running++;
+            enqueue(target, () -> {
+                try {
+                    command.run();
+                } finally {
+                    complete();
+                }
+            });
+        }
+
+        private synchronized void complete() {
+            running--;
+            while (!held.isEmpty() && (running == 0 || held.peekFirst().laneKey.equals(laneKey))) {
+                HeldCommand next = held.pollFirst();
+                dispatch(next.laneKey, next.command);
+            }
+
+            if (running == 0) {
+                removed = true;
+                sessionRoutes.remove(sessionId, this);
+            }
+        }
+    }
+
+    private static class HeldCommand {
+
+        private final Object laneKey;
+        private final Runnable command;
+
+        private HeldCommand(Object laneKey, Runnable command) {
+            this.laneKey = laneKey;
+            this.command = command;
+        }
+    }
+}
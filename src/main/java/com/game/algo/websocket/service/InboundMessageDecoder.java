@@ -0,0 +1,99 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.InboundMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+/**
+ * {type, message} 프레임을 ByteBuffer 에서 바로 스트리밍으로 읽고, message 도 같은 파서에서 payload 타입으로 역직렬화한다.
+ * message 는 JSON 값 그대로이거나, 이전 클라이언트처럼 JSON 문자열로 감싸져 있어도 된다.
+ * (문자열인 경우 String 을 만들지 않고 파서의 문자 버퍼에서 바로 다시 읽는다)
+ */
+@Component
+@RequiredArgsConstructor
+public class InboundMessageDecoder {
+
+    private static final String TYPE_FIELD = "type";
+    private static final String MESSAGE_FIELD = "message";
+    private static final String COMMAND_ID_FIELD = "commandId";
+
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * @param payloadTypes MessageType 에 해당하는 payload 타입, 본문을 읽지 않을 타입이면 null
+     */
+    public InboundMessage decode(ByteBuffer frame, Function<MessageType, Class<?>> payloadTypes) throws IOException {
+        try (JsonParser parser = createParser(frame)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("message frame must be a JSON object");
+            }
+
+            MessageType type = null;
+            Object payload = null;
+            String commandId = null;
+            TokenBuffer pendingMessage = null; // type 보다 message 가 먼저 온 경우
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if (TYPE_FIELD.equals(fieldName)) {
+                    type = MessageType.valueOf(parser.getText());
+                } else if (MESSAGE_FIELD.equals(fieldName) && type != null) {
+                    payload = readPayload(parser, payloadTypes.apply(type));
+                } else if (MESSAGE_FIELD.equals(fieldName)) {
+                    pendingMessage = new TokenBuffer(parser);
+                    pendingMessage.copyCurrentStructure(parser);
+                } else if (COMMAND_ID_FIELD.equals(fieldName)) {
+                    commandId = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (type == null) {
+                throw new IOException("message type is missing");
+            }
+            if (pendingMessage != null) {
+                try (JsonParser bufferedParser = pendingMessage.asParser(parser.getCodec())) {
+                    bufferedParser.nextToken();
+                    payload = readPayload(bufferedParser, payloadTypes.apply(type));
+                }
+            }
+            return InboundMessage.create(type, payload, commandId);
+        }
+    }
+
+    private JsonParser createParser(ByteBuffer frame) throws IOException {
+        if (frame.hasArray()) {
+            return objectMapper.getFactory().createParser(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        }
+        return objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(frame.duplicate()));
+    }
+
+    private Object readPayload(JsonParser parser, Class<?> payloadType) throws IOException {
+        if (payloadType == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+            parser.skipChildren();
+            return null;
+        }
+
+        if (parser.currentToken() == JsonToken.VALUE_STRING && payloadType != String.class) {
+            try (JsonParser innerParser = objectMapper.getFactory()
+                    .createParser(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+                return objectMapper.readValue(innerParser, payloadType);
+            }
+        }
+        return objectMapper.readValue(parser, payloadType);
+    }
+}
@@ -0,0 +1,154 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.MessageType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 세션 x MessageType 마다 토큰 버킷을 둔다.
+ * 버킷 하나는 "다음 토큰이 생기는 시각" long 하나로 표현하고(GCRA) CAS 로만 갱신하므로, 메세지마다 락이나 객체 생성이 없다.
+ * 트랜잭션을 여는 게임 진행 커맨드는 command 한도를, 나머지는 default 한도를 사용한다.
+ */
+@Component
+public class InboundRateLimiter {
+
+    private static final Set<MessageType> COMMAND_TYPES = EnumSet.of(
+            MessageType.PlayerCreate, MessageType.GameRoomCreate, MessageType.GameRoomJoin, MessageType.PlayerReadyUpdate,
+            MessageType.GameStart, MessageType.StartBlockDraw, MessageType.BlockDraw, MessageType.JokerUpdate,
+            MessageType.BlockGuess, MessageType.GuessRepeat, MessageType.NextPhase);
+
+    // 클라이언트가 같은 요청을 다시 보내는 타입, 한도를 넘으면 응답 없이 하나로 합친다(버린다)
+    private static final Set<MessageType> COALESCE_TYPES = EnumSet.of(
+            MessageType.NextPhase, MessageType.GameStatusSnapshot, MessageType.GameRoomFind, MessageType.SessionId);
+
+    private static final MessageType[] TYPES = MessageType.values();
+
+    private final Map<String, AtomicLongArray> sessionBuckets = new ConcurrentHashMap<>();
+
+    private final long[] intervalNanos = new long[TYPES.length]; // 토큰 하나가 생기는 간격
+    private final long[] toleranceNanos = new long[TYPES.length]; // interval * (burst - 1)
+    private final LongAdder[] rejectedCounts = new LongAdder[TYPES.length];
+    private final LongAdder[] coalescedCounts = new LongAdder[TYPES.length];
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+
+    @Autowired
+    public InboundRateLimiter(@Value("${algo.websocket.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${algo.websocket.rate-limit.default-per-second:20}") int defaultPerSecond,
+                              @Value("${algo.websocket.rate-limit.default-burst:40}") int defaultBurst,
+                              @Value("${algo.websocket.rate-limit.command-per-second:5}") int commandPerSecond,
+                              @Value("${algo.websocket.rate-limit.command-burst:10}") int commandBurst) {
+        this(enabled, defaultPerSecond, defaultBurst, commandPerSecond, commandBurst, monotonicClock());
+    }
+
+    InboundRateLimiter(boolean enabled, int defaultPerSecond, int defaultBurst,
+                       int commandPerSecond, int commandBurst, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+
+        for (MessageType type : TYPES) {
+            boolean command = COMMAND_TYPES.contains(type);
+            int perSecond = Math.max(1, command ? commandPerSecond : defaultPerSecond);
+            int burst = Math.max(1, command ? commandBurst : defaultBurst);
+
+            int i = type.ordinal();
+            intervalNanos[i] = TimeUnit.SECONDS.toNanos(1) / perSecond;
+            toleranceNanos[i] = intervalNanos[i] * (burst - 1);
+            rejectedCounts[i] = new LongAdder();
+            coalescedCounts[i] = new LongAdder();
+        }
+    }
+
+
+    public void register(String sessionId) {
+        sessionBuckets.put(sessionId, new AtomicLongArray(TYPES.length));
+    }
+
+    public void release(String sessionId) {
+        sessionBuckets.remove(sessionId);
+    }
+
+    /**
+     * 등록되지 않은 세션(연결 직후 / 종료 직전)은 제한하지 않는다.
+     */
+    public Decision tryAcquire(String sessionId, MessageType type) {
+        AtomicLongArray buckets = enabled ? sessionBuckets.get(sessionId) : null;
+        if (buckets == null || type == null) {
+            return Decision.ACCEPT;
+        }
+
+        int i = type.ordinal();
+        long now = clock.getAsLong();
+        while (true) {
+            long nextTokenAt = buckets.get(i);
+            long base = Math.max(nextTokenAt, now);
+
+            if (base - now > toleranceNanos[i]) {
+                if (COALESCE_TYPES.contains(type)) {
+                    coalescedCounts[i].increment();
+                    return Decision.COALESCE;
+                }
+                rejectedCounts[i].increment();
+                return Decision.REJECT;
+            }
+            if (buckets.compareAndSet(i, nextTokenAt, base + intervalNanos[i])) {
+                return Decision.ACCEPT;
+            }
+        }
+    }
+
+    /**
+     * 한도를 넘어서 거절된 프레임 수, 한번도 거절되지 않은 타입은 빠진다.
+     */
+    public Map<MessageType, Long> getRejectedCounts() {
+        return toCountMap(rejectedCounts);
+    }
+
+    public Map<MessageType, Long> getCoalescedCounts() {
+        return toCountMap(coalescedCounts);
+    }
+
+    public long getRejectedCount(MessageType type) {
+        return rejectedCounts[type.ordinal()].sum();
+    }
+
+    public long getCoalescedCount(MessageType type) {
+        return coalescedCounts[type.ordinal()].sum();
+    }
+
+    private static Map<MessageType, Long> toCountMap(LongAdder[] counts) {
+        Map<MessageType, Long> countMap = new EnumMap<>(MessageType.class);
+        for (MessageType type : TYPES) {
+            long count = counts[type.ordinal()].sum();
+            if (count > 0) {
+                countMap.put(type, count);
+            }
+        }
+        return countMap;
+    }
+
+    // 버킷의 초기값 0 이 항상 과거가 되도록 0 부터 시작하는 시각
+    private static LongSupplier monotonicClock() {
+        long start = System.nanoTime();
+        return () -> System.nanoTime() - start;
+    }
+
+
+    public enum Decision {
+        ACCEPT,
+        REJECT, // 에러 응답을 보낸다
+        COALESCE // 응답 없이 버린다
+    }
+}
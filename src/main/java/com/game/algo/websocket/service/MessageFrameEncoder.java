@@ -0,0 +1,56 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.websocket.data.MessageType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * {type, message} 프레임을 한번의 직렬화로 바이트 배열에 바로 쓴다.
+ * message 는 JSON 값 그대로 들어가며, LEGACY_JSON 세션에는 이전 클라이언트를 위해 JSON 문자열로 감싸서 넣는다.(encodeLegacy)
+ * 버퍼는 스레드마다 재사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageFrameEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+
+    private static final ThreadLocal<ByteArrayBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+
+    private final ObjectMapper objectMapper;
+
+
+    public byte[] encode(MessageType type, Object message) throws IOException {
+        return encode(type, message, false);
+    }
+
+    public byte[] encodeLegacy(MessageType type, Object message) throws IOException {
+        return encode(type, message, true);
+    }
+
+    private byte[] encode(MessageType type, Object message, boolean legacyStringMessage) throws IOException {
+        ByteArrayBuilder buffer = BUFFERS.get();
+        buffer.reset();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("type", type.name());
+            generator.writeFieldName("message");
+
+            if (legacyStringMessage) {
+                generator.writeString(objectMapper.writeValueAsString(message));
+            } else {
+                objectMapper.writeValue(generator, message);
+            }
+
+            generator.writeEndObject();
+        }
+        return buffer.toByteArray();
+    }
+}
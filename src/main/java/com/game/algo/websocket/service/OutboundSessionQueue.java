@@ -0,0 +1,271 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.FrameCompression;
+import com.game.algo.websocket.data.MessageFrame;
+import com.game.algo.websocket.data.OverflowPolicy;
+import com.game.algo.websocket.data.WireCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 하나의 송신 큐.
+ * 보내는 쪽은 큐에 넣기만 하고 바로 돌아가며, 실제 전송(블로킹 write)은 송신 풀에서 세션당 하나씩 순서대로 처리한다.
+ * 느린 클라이언트가 있어도 다른 세션이나 요청을 처리하는 스레드가 기다리지 않는다.
+ * 큐가 한도를 넘으면 OverflowPolicy 에 따라 처리하고, 한번의 전송이 sendTimeLimit 보다 오래 걸리면 세션을 닫는다.
+ * 전송 시간 초과는 새 프레임이 없어도 잡히도록 SessionHeartbeatSweeper 가 주기적으로 checkSendTimeLimit 을 부른다.
+ */
+@Slf4j
+public class OutboundSessionQueue {
+
+    private static final int DRAIN_BATCH_SIZE = 32; // 한 세션이 송신 스레드를 독점하지 않도록
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final int capacity;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Deque<Outbound> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private volatile long sendStartTime; // 0 이면 전송중이 아님
+    private volatile long lastReceivedNanos = System.nanoTime(); // 마지막으로 클라이언트에게서 받은 시각 (heartbeat)
+    private volatile long lastPingNanos = lastReceivedNanos;
+    private volatile boolean closed;
+    private volatile WireCodec codec = WireCodec.JSON;
+    private volatile FrameCompression compression = FrameCompression.NONE;
+
+    OutboundSessionQueue(WebSocketSession session, Executor executor, int capacity, long bufferSizeLimit,
+                         long sendTimeLimitMillis, OverflowPolicy overflowPolicy) {
+        this.session = session;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @param stale 같은 종류의 새 프레임이 오면 의미가 없어지는 프레임인지 (DROP_STALE 에서 버려도 되는지)
+     */
+    public void send(MessageFrame frame, boolean stale) {
+        if (closed) {
+            return;
+        }
+        if (checkSendTimeLimit(System.nanoTime())) {
+            return;
+        }
+
+        queue.add(new Outbound(frame, stale));
+        depth.incrementAndGet();
+        bufferedBytes.addAndGet(frame.size());
+
+        if (isOverLimit()) {
+            handleOverflow();
+        }
+        schedule();
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    public WireCodec getCodec() {
+        return codec;
+    }
+
+    public void updateCodec(WireCodec codec) {
+        this.codec = codec;
+    }
+
+    public FrameCompression getCompression() {
+        return compression;
+    }
+
+    public void updateCompression(FrameCompression compression) {
+        this.compression = compression;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void markReceived() {
+        lastReceivedNanos = System.nanoTime();
+    }
+
+    public long getLastReceivedNanos() {
+        return lastReceivedNanos;
+    }
+
+    /**
+     * 마지막 수신과 마지막 ping 이후 모두 pingInterval 이 지났을 때만 ping 을 보낸다.
+     */
+    public void pingIfIdle(MessageFrame pingFrame, long now, long pingIntervalNanos) {
+        if (now - lastReceivedNanos < pingIntervalNanos || now - lastPingNanos < pingIntervalNanos) {
+            return;
+        }
+        lastPingNanos = now;
+        send(pingFrame, true);
+    }
+
+    /**
+     * 응답이 없는 세션을 닫는다. 정리는 afterConnectionClosed 의 disconnect 경로에서 한다.
+     */
+    public void evict(String reason) {
+        close(CloseStatus.SESSION_NOT_RELIABLE, reason);
+    }
+
+    /**
+     * 진행중인 전송이 sendTimeLimit 을 넘겼으면 세션을 닫는다.
+     * 막힌 write 는 세션이 닫히면서 풀리고, 남은 프레임은 버린다.
+     * @return 시간 초과로 닫았는지
+     */
+    public boolean checkSendTimeLimit(long now) {
+        long start = sendStartTime;
+        if (start == 0 || now - start <= sendTimeLimitNanos) {
+            return false;
+        }
+        close(CloseStatus.SESSION_NOT_RELIABLE, "send time limit exceeded");
+        return true;
+    }
+
+    /**
+     * 세션이 끊어진 뒤 남은 프레임을 버린다.
+     */
+    public void discard() {
+        closed = true;
+        clear();
+    }
+
+    private boolean isOverLimit() {
+        return depth.get() > capacity || bufferedBytes.get() > bufferSizeLimit;
+    }
+
+    private synchronized void handleOverflow() {
+        if (overflowPolicy == OverflowPolicy.DROP_STALE) {
+            Iterator<Outbound> iterator = queue.iterator();
+            while (isOverLimit() && iterator.hasNext()) {
+                Outbound outbound = iterator.next();
+                if (outbound.stale && outbound.claim()) {
+                    iterator.remove();
+                    release(outbound);
+                }
+            }
+        }
+
+        if (isOverLimit()) {
+            close(CloseStatus.SESSION_NOT_RELIABLE, "outbound queue overflow");
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                Outbound outbound = queue.poll();
+                if (outbound == null) {
+                    break;
+                }
+                if (!outbound.claim()) {
+                    continue; // 이미 버려진 프레임
+                }
+                release(outbound);
+                write(outbound.frame);
+            }
+        } finally {
+            scheduled.set(false);
+        }
+
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void write(MessageFrame frame) {
+        if (closed || !session.isOpen()) {
+            return;
+        }
+
+        sendStartTime = System.nanoTime();
+        try {
+            session.sendMessage(frame.toBinaryMessage());
+        } catch (IOException | IllegalStateException e) {
+            log.error("send fail : sessionId:{} / {}", session.getId(), e.getMessage());
+        } finally {
+            sendStartTime = 0;
+        }
+    }
+
+    private synchronized void close(CloseStatus status, String reason) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        clear();
+
+        log.warn("close session : sessionId:{} / {}", session.getId(), reason);
+        try {
+            session.close(status);
+        } catch (IOException | IllegalStateException e) {
+            log.error("session close fail : sessionId:{} / {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void clear() {
+        Outbound outbound;
+        while ((outbound = queue.poll()) != null) {
+            if (outbound.claim()) {
+                release(outbound);
+            }
+        }
+    }
+
+    private void release(Outbound outbound) {
+        depth.decrementAndGet();
+        bufferedBytes.addAndGet(-outbound.frame.size());
+    }
+
+
+    /**
+     * 전송 스레드와 overflow 처리가 같은 프레임을 동시에 꺼낼 수 있으므로, 먼저 claim 한 쪽만 카운터를 줄인다.
+     */
+    private static class Outbound {
+
+        private final MessageFrame frame;
+        private final boolean stale;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private Outbound(MessageFrame frame, boolean stale) {
+            this.frame = frame;
+            this.stale = stale;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
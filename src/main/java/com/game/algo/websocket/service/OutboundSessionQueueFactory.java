@@ -0,0 +1,67 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.OverflowPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션마다 송신 큐를 만들어 주고, 모든 송신 큐가 함께 쓰는 송신 풀을 가진다.
+ * 블로킹 write 는 이 풀에서만 일어나므로 풀 크기만큼의 느린 세션까지는 다른 세션의 전송이 밀리지 않는다.
+ */
+@Component
+public class OutboundSessionQueueFactory {
+
+    private final Executor senders;
+    private final int capacity;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+    private final OverflowPolicy overflowPolicy;
+
+    @Autowired
+    public OutboundSessionQueueFactory(@Value("${algo.websocket.outbound.sender-threads:0}") int senderThreads,
+                                       @Value("${algo.websocket.outbound.capacity:256}") int capacity,
+                                       @Value("${algo.websocket.outbound.buffer-size-limit:524288}") long bufferSizeLimit,
+                                       @Value("${algo.websocket.outbound.send-time-limit-ms:5000}") long sendTimeLimitMillis,
+                                       @Value("${algo.websocket.outbound.overflow-policy:DROP_STALE}") OverflowPolicy overflowPolicy) {
+        this(newSenderPool(senderThreads), capacity, bufferSizeLimit, sendTimeLimitMillis, overflowPolicy);
+    }
+
+    OutboundSessionQueueFactory(Executor senders, int capacity, long bufferSizeLimit,
+                                long sendTimeLimitMillis, OverflowPolicy overflowPolicy) {
+        this.senders = senders;
+        this.capacity = capacity;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public OutboundSessionQueue create(WebSocketSession session) {
+        return new OutboundSessionQueue(session, senders, capacity, bufferSizeLimit, sendTimeLimitMillis, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (senders instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService newSenderPool(int senderThreads) {
+        int threads = (senderThreads > 0) ? senderThreads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "websocket-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.MessageFrame;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.MessageDataResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스레드 하나가 sweepInterval 마다 세션을 batchSize 개씩 훑는다.
+ * pingInterval 동안 받은 프레임이 없는 세션에는 Ping 을 보내고, idleTimeout 이 지나도록 아무것도 받지 못한 세션은 닫는다.
+ * 한번의 전송이 send-time-limit 을 넘겨 송신 스레드를 붙잡고 있는 세션도 같이 닫는다.
+ * 닫힌 세션은 afterConnectionClosed 의 기존 disconnect 경로(재접속 유예 포함)로 정리된다.
+ */
+@Slf4j
+@Component
+public class SessionHeartbeatSweeper {
+
+    private final SessionRegistry sessionRegistry;
+    private final MessageFrame pingFrame;
+    private final long pingIntervalNanos;
+    private final long idleTimeoutNanos;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder evictedCount = new LongAdder();
+    private volatile int aliveCount;
+
+    // 스위퍼 스레드에서만 접근
+    private Iterator<String> cursor = Collections.emptyIterator();
+    private int passAliveCount;
+    private int passEvictedCount;
+
+    @Autowired
+    public SessionHeartbeatSweeper(SessionRegistry sessionRegistry, WebSocketService webSocketService,
+                                   @Value("${algo.websocket.heartbeat.enabled:true}") boolean enabled,
+                                   @Value("${algo.websocket.heartbeat.ping-interval-ms:15000}") long pingIntervalMillis,
+                                   @Value("${algo.websocket.heartbeat.idle-timeout-ms:45000}") long idleTimeoutMillis,
+                                   @Value("${algo.websocket.heartbeat.sweep-interval-ms:1000}") long sweepIntervalMillis,
+                                   @Value("${algo.websocket.heartbeat.batch-size:500}") int batchSize) throws IOException {
+        this(sessionRegistry, webSocketService.encode(MessageDataResponse.create(MessageType.Ping, null)),
+                pingIntervalMillis, idleTimeoutMillis, batchSize);
+
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    SessionHeartbeatSweeper(SessionRegistry sessionRegistry, MessageFrame pingFrame,
+                            long pingIntervalMillis, long idleTimeoutMillis, int batchSize) {
+        this.sessionRegistry = sessionRegistry;
+        this.pingFrame = pingFrame;
+        this.pingIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pingIntervalMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * 마지막으로 끝난 한 바퀴에서 살아있던 세션 수
+     */
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * 지금까지 응답이 없거나 전송이 막혀서 닫은 세션 수
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void sweep() {
+        try {
+            sweep(System.nanoTime());
+        } catch (Exception e) { // 예외로 스케줄이 멈추지 않도록
+            log.error("heartbeat sweep fail : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 한 번에 batchSize 개까지만 확인하고, 한 바퀴가 끝나면 카운트를 갱신한다.
+     */
+    void sweep(long now) {
+        if (!cursor.hasNext()) {
+            cursor = sessionRegistry.getClientSessionIds().iterator();
+        }
+
+        for (int i = 0; i < batchSize && cursor.hasNext(); i++) {
+            check(cursor.next(), now);
+        }
+
+        if (!cursor.hasNext()) {
+            finishPass();
+        }
+    }
+
+    private void check(String sessionId, long now) {
+        OutboundSessionQueue client = sessionRegistry.findClient(sessionId);
+        if (client == null || client.isClosed()) {
+            return;
+        }
+
+        if (client.checkSendTimeLimit(now)) {
+            countEvicted();
+            return;
+        }
+
+        if (now - client.getLastReceivedNanos() > idleTimeoutNanos) {
+            client.evict("heartbeat timeout");
+            countEvicted();
+            return;
+        }
+
+        passAliveCount++;
+        client.pingIfIdle(pingFrame, now, pingIntervalNanos);
+    }
+
+    private void countEvicted() {
+        passEvictedCount++;
+        evictedCount.increment();
+    }
+
+    private void finishPass() {
+        aliveCount = passAliveCount;
+        if (passEvictedCount > 0) {
+            log.info("heartbeat : alive:{} / evicted:{}", passAliveCount, passEvictedCount);
+        }
+        passAliveCount = 0;
+        passEvictedCount = 0;
+    }
+}
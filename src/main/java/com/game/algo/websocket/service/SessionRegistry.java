@@ -0,0 +1,108 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.SessionMember;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 연결된 세션의 송신 큐와 함께 sessionId -> (playerId, gameRoomId), gameRoomId -> sessionId 집합을 메모리에 유지한다.
+ * 세션 검증이나 세션으로 플레이어를 찾을 때 DB 를 거치지 않기 위한 인덱스이며,
+ * 참여 / 퇴장 / 연결 종료 시 서비스에서 갱신한다. 조회는 락 없이, 변경은 두 인덱스를 함께 바꾸도록 직렬화한다.
+ */
+@Component
+public class SessionRegistry {
+
+    private final Map<String, OutboundSessionQueue> clients = new ConcurrentHashMap<>();
+    private final Map<String, SessionMember> members = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> roomSessions = new ConcurrentHashMap<>();
+
+
+    /**
+     * @return 같은 sessionId 로 등록되어 있던 이전 송신 큐
+     */
+    public OutboundSessionQueue register(String sessionId, OutboundSessionQueue client) {
+        return clients.put(sessionId, client);
+    }
+
+    public OutboundSessionQueue findClient(String sessionId) {
+        return (sessionId == null) ? null : clients.get(sessionId);
+    }
+
+    public void forEachClient(BiConsumer<String, OutboundSessionQueue> action) {
+        clients.forEach(action);
+    }
+
+    /**
+     * 복사하지 않은 뷰, 순회 중에 들어오고 나간 세션은 보일 수도 안 보일 수도 있다.
+     */
+    public Set<String> getClientSessionIds() {
+        return Collections.unmodifiableSet(clients.keySet());
+    }
+
+    public synchronized OutboundSessionQueue unregister(String sessionId) {
+        leaveRoom(sessionId);
+        members.remove(sessionId);
+        return clients.remove(sessionId);
+    }
+
+    /**
+     * 연결되어 있는 세션만 인덱스에 올린다.
+     */
+    public synchronized void bindPlayer(String sessionId, Long playerId, Long gameRoomId) {
+        if (sessionId == null || playerId == null || !clients.containsKey(sessionId)) {
+            return;
+        }
+        leaveRoom(sessionId);
+        members.put(sessionId, SessionMember.create(playerId, null));
+        joinRoom(sessionId, gameRoomId);
+    }
+
+    public synchronized void joinRoom(String sessionId, Long gameRoomId) {
+        SessionMember member = (sessionId == null) ? null : members.get(sessionId);
+        if (member == null || gameRoomId == null) {
+            return;
+        }
+        removeFromRoom(sessionId, member.getGameRoomId());
+
+        members.put(sessionId, member.withGameRoomId(gameRoomId));
+        roomSessions.computeIfAbsent(gameRoomId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+    }
+
+    public synchronized void leaveRoom(String sessionId) {
+        SessionMember member = (sessionId == null) ? null : members.get(sessionId);
+        if (member == null || member.getGameRoomId() == null) {
+            return;
+        }
+        removeFromRoom(sessionId, member.getGameRoomId());
+        members.put(sessionId, member.withGameRoomId(null));
+    }
+
+    /**
+     * 등록되지 않은 세션이면 empty. 이 경우 호출한 쪽은 DB 를 조회해야 한다.
+     */
+    public Optional<SessionMember> findMember(String sessionId) {
+        return Optional.ofNullable((sessionId == null) ? null : members.get(sessionId));
+    }
+
+    public Set<String> getRoomSessionIds(Long gameRoomId) {
+        Set<String> sessionIds = roomSessions.get(gameRoomId);
+        return (sessionIds == null) ? Set.of() : Collections.unmodifiableSet(sessionIds);
+    }
+
+    private void removeFromRoom(String sessionId, Long gameRoomId) {
+        if (gameRoomId == null) {
+            return;
+        }
+        Set<String> sessionIds = roomSessions.get(gameRoomId);
+        if (sessionIds == null) {
+            return;
+        }
+        sessionIds.remove(sessionId);
+        if (sessionIds.isEmpty()) {
+            roomSessions.remove(gameRoomId);
+        }
+    }
+}
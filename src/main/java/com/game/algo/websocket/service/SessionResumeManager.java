@@ -0,0 +1,121 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.algo.service.GamePhaseTimer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Player 마다 재접속 토큰을 발급하고, 연결이 끊기면 바로 disconnect 하지 않고 graceMillis 동안 기다린다.
+ * 그 안에 같은 토큰으로 다시 붙은 세션은 원래 Player 로 이어지고, 시간이 지나면 expire 작업(기존 disconnect)을 실행한다.
+ * 대기 타이머는 GamePhaseTimer 를 같이 쓰며, 재접속과 만료가 겹쳐도 Timeout 의 cancel / expire 중 하나만 성공한다.
+ */
+@Component
+public class SessionResumeManager {
+
+    private static final int TOKEN_BYTES = 18;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, ResumeTicket> tickets = new HashMap<>(); // token -> ticket
+    private final Map<String, String> sessionTokens = new HashMap<>(); // sessionId -> token
+
+    private final GamePhaseTimer gamePhaseTimer;
+    private final long graceMillis;
+
+    public SessionResumeManager(GamePhaseTimer gamePhaseTimer,
+                                @Value("${algo.websocket.resume.grace-ms:30000}") long graceMillis) {
+        this.gamePhaseTimer = gamePhaseTimer;
+        this.graceMillis = graceMillis;
+    }
+
+
+    /**
+     * 같은 세션에 이전에 발급한 토큰이 있으면 폐기하고 새로 발급한다.
+     */
+    public synchronized String issue(String sessionId, Long playerId) {
+        String previous = sessionTokens.remove(sessionId);
+        if (previous != null) {
+            tickets.remove(previous);
+        }
+
+        String token = createToken();
+        tickets.put(token, new ResumeTicket(playerId, sessionId));
+        sessionTokens.put(sessionId, token);
+        return token;
+    }
+
+    /**
+     * 끊긴 세션에 토큰이 있으면 만료 타이머를 건다.
+     * @return false 면 재접속을 기다리지 않으므로 호출한 쪽에서 바로 disconnect 해야 한다.
+     */
+    public synchronized boolean suspend(String sessionId, Runnable expire) {
+        String token = sessionTokens.remove(sessionId);
+        ResumeTicket ticket = (token == null) ? null : tickets.get(token);
+        if (ticket == null) {
+            return false;
+        }
+        if (graceMillis <= 0) {
+            tickets.remove(token);
+            return false;
+        }
+
+        ticket.sessionId = null;
+        ticket.timeout = gamePhaseTimer.schedule(() -> {
+            synchronized (this) {
+                tickets.remove(token, ticket);
+            }
+            expire.run();
+        }, graceMillis);
+        return true;
+    }
+
+    /**
+     * 토큰을 새 세션에 옮긴다. 이전 세션이 아직 끊기지 않았어도 새 세션이 가져가며,
+     * 이전 세션은 나중에 끊길 때 토큰이 없으므로 일반 disconnect 경로를 탄다.
+     * @return 이어서 진행할 playerId, 만료되었거나 모르는 토큰이면 empty
+     */
+    public synchronized Optional<Long> resume(String token, String sessionId) {
+        ResumeTicket ticket = (token == null) ? null : tickets.get(token);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+
+        if (ticket.timeout != null) {
+            if (!ticket.timeout.cancel()) { // 이미 만료 작업이 시작됨
+                tickets.remove(token);
+                return Optional.empty();
+            }
+            ticket.timeout = null;
+        } else if (ticket.sessionId != null) {
+            sessionTokens.remove(ticket.sessionId);
+        }
+
+        ticket.sessionId = sessionId;
+        sessionTokens.put(sessionId, token);
+        return Optional.of(ticket.playerId);
+    }
+
+    private String createToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+
+    private static class ResumeTicket {
+
+        private final Long playerId;
+        private String sessionId; // 끊겨서 기다리는 중이면 null
+        private GamePhaseTimer.Timeout timeout;
+
+        private ResumeTicket(Long playerId, String sessionId) {
+            this.playerId = playerId;
+            this.sessionId = sessionId;
+        }
+    }
+}
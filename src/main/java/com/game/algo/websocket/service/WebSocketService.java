@@ -1,47 +1,151 @@
 package com.game.algo.websocket.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.websocket.data.FrameCompression;
+import com.game.algo.websocket.data.MessageFrame;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.data.WireCodec;
 import com.game.algo.websocket.dto.MessageDataResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.socket.BinaryMessage;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 
+/**
+ * 모든 전송은 세션별 송신 큐(OutboundSessionQueue)에 넣기만 하고 바로 돌아간다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WebSocketService {
 
-    private static final Map<String, WebSocketSession> CLIENTS = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper;
+    // 더 최신 상태가 오면 필요 없어지는 프레임. 송신 큐가 넘치면 이것부터 버린다.
+    private static final Set<MessageType> STALE_MESSAGE_TYPES = EnumSet.of(MessageType.GameData, MessageType.GameStatusData, MessageType.WaitForSec);
+
+    private final MessageFrameEncoder messageFrameEncoder;
+    private final BinaryMessageEncoder binaryMessageEncoder;
+    private final FrameCompressor frameCompressor;
+    private final OutboundSessionQueueFactory outboundSessionQueueFactory;
+    private final SessionRegistry sessionRegistry;
 
 
     public void addClient(String sessionId, WebSocketSession session){
-        CLIENTS.put(sessionId, session);
+        OutboundSessionQueue previous = sessionRegistry.register(sessionId, outboundSessionQueueFactory.create(session));
+        if (previous != null) {
+            previous.discard();
+        }
     }
 
     public void sendMessage(@NonNull String sessionId, @NonNull MessageDataResponse messageData) throws IOException {
-        MessageDataResponse convertMessageData = MessageDataResponse.create(
-                messageData.getType(),
-                objectMapper.writeValueAsString(messageData.getMessage()));
+        OutboundSessionQueue client = getClient(sessionId);
+        client.send(encode(messageData, client.getCodec(), client.getCompression()), isStale(messageData));
+    }
+
+    /**
+     * 같은 메세지를 여러 세션에 보낼 때 직렬화(와 압축)는 형식(JSON / 바이너리) x 압축 방식마다 한번만 하고 같은 프레임을 보낸다.
+     * 한 세션이 느리거나 끊어져도 나머지 세션에 영향을 주지 않는다.
+     */
+    public void broadcast(@NonNull Collection<String> sessionIds, @NonNull MessageDataResponse messageData) throws IOException {
+        MessageFrame[] frames = new MessageFrame[WireCodec.values().length * FrameCompression.values().length];
+        boolean stale = isStale(messageData);
+
+        for (String sessionId : sessionIds) {
+            OutboundSessionQueue client = sessionRegistry.findClient(sessionId);
+            if (client == null) {
+                continue;
+            }
+
+            int format = client.getCodec().ordinal() * FrameCompression.values().length + client.getCompression().ordinal();
+            if (frames[format] == null) {
+                frames[format] = encode(messageData, client.getCodec(), client.getCompression());
+            }
+            client.send(frames[format], stale);
+        }
+    }
+
+    public MessageFrame encode(@NonNull MessageDataResponse messageData) throws IOException {
+        return MessageFrame.wrap(messageFrameEncoder.encode(messageData.getType(), messageData.getMessage()));
+    }
+
+    /**
+     * 바이너리 레이아웃이 없는 메세지는 BINARY 세션에도 JSON 으로 보낸다.
+     */
+    public MessageFrame encode(@NonNull MessageDataResponse messageData, WireCodec codec) throws IOException {
+        return encode(messageData, codec, FrameCompression.NONE);
+    }
+
+    public MessageFrame encode(@NonNull MessageDataResponse messageData, WireCodec codec, FrameCompression compression) throws IOException {
+        byte[] frame = encodeBytes(messageData, codec);
+        return MessageFrame.wrap((compression == FrameCompression.DEFLATE) ? frameCompressor.compress(frame) : frame);
+    }
 
-        String json = objectMapper.writeValueAsString(convertMessageData);
-        CLIENTS.get(sessionId).sendMessage(new BinaryMessage(json.getBytes(StandardCharsets.UTF_8)));
+    /**
+     * 버전 확인 응답을 보낸 뒤에 호출해야 응답은 이전 형식(JSON)으로 도착한다.
+     */
+    public void updateCodec(String sessionId, WireCodec codec) throws IOException {
+        getClient(sessionId).updateCodec(codec);
     }
 
-    public void updateCommand(String sessionId) throws IOException {
-        CLIENTS.get(sessionId).sendMessage(new BinaryMessage(new String("update").getBytes(StandardCharsets.UTF_8)));
+    public void updateCompression(String sessionId, FrameCompression compression) throws IOException {
+        getClient(sessionId).updateCompression(compression);
+    }
+
+    /**
+     * 세션의 송신 큐에 쌓여있는 프레임 수, 등록되지 않은 세션이면 0
+     */
+    public int getQueueDepth(String sessionId) {
+        OutboundSessionQueue client = sessionRegistry.findClient(sessionId);
+        return (client == null) ? 0 : client.getQueueDepth();
+    }
+
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> queueDepths = new HashMap<>();
+        sessionRegistry.forEachClient((sessionId, client) -> queueDepths.put(sessionId, client.getQueueDepth()));
+        return queueDepths;
+    }
+
+    /**
+     * 클라이언트에게서 프레임(또는 pong)을 받았음을 기록한다. heartbeat 판단에 쓰인다.
+     */
+    public void markReceived(String sessionId) {
+        OutboundSessionQueue client = sessionRegistry.findClient(sessionId);
+        if (client != null) {
+            client.markReceived();
+        }
     }
 
     public void removeClient(String sessionId){
-        CLIENTS.remove(sessionId);
+        OutboundSessionQueue client = sessionRegistry.unregister(sessionId);
+        if (client != null) {
+            client.discard();
+        }
+    }
+
+    private OutboundSessionQueue getClient(String sessionId) throws IOException {
+        OutboundSessionQueue client = sessionRegistry.findClient(sessionId);
+        if (client == null) {
+            throw new IOException("session not found : " + sessionId);
+        }
+        return client;
+    }
+
+    private byte[] encodeBytes(MessageDataResponse messageData, WireCodec codec) throws IOException {
+        if (codec == WireCodec.BINARY) {
+            byte[] binary = binaryMessageEncoder.encode(messageData.getType(), messageData.getMessage());
+            if (binary != null) {
+                return binary;
+            }
+        }
+        if (codec == WireCodec.LEGACY_JSON) {
+            return messageFrameEncoder.encodeLegacy(messageData.getType(), messageData.getMessage());
+        }
+        return messageFrameEncoder.encode(messageData.getType(), messageData.getMessage());
+    }
+
+    private boolean isStale(MessageDataResponse messageData) {
+        return STALE_MESSAGE_TYPES.contains(messageData.getType());
     }
 }
@@ -0,0 +1,113 @@
+package com.game.algo.algo.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.algo.data.BlockColor;
+import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.algo.entity.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GameStatusDeltaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("페이즈만 바뀌면 delta 에는 페이즈와 sequence 만 담겨야 합니다.")
+    public void phaseOnlyDeltaTest() throws Exception {
+        //given
+        GameRoom gameRoom = createPlayingRoom(4);
+        GameStatusData before = GameStatusData.from(gameRoom);
+
+        //when
+        gameRoom.updatePhase(GameRoom.Phase.GUESS);
+        GameStatusData after = GameStatusData.from(gameRoom);
+        GameStatusDelta delta = GameStatusDelta.between(before, before.getPlayerDataList(), after, 2);
+
+        //then
+        assertThat(delta.getSequence()).isEqualTo(2);
+        assertThat(delta.getPhase()).isEqualTo(GameRoom.Phase.GUESS);
+        assertThat(delta.getPlayerDataList()).isNull();
+        assertThat(delta.getProgressPlayerNumber()).isNull();
+        assertThat(delta.getWhiteBlockCount()).isNull();
+        assertThat(delta.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("블록을 뽑으면 뽑은 플레이어와 남은 블록 수만 delta 에 담겨야 합니다.")
+    public void drawBlockDeltaTest() throws Exception {
+        //given
+        GameRoom gameRoom = createPlayingRoom(4);
+        GameStatusData before = GameStatusData.from(gameRoom);
+        Player progressPlayer = gameRoom.getProgressPlayer();
+
+        //when
+        progressPlayer.addBlock(gameRoom.drawRandomBlock(BlockColor.WHITE));
+        GameStatusDelta delta = GameStatusDelta.between(before, before.getPlayerDataList(), GameStatusData.from(gameRoom), 2);
+
+        //then
+        assertThat(delta.getPhase()).isNull();
+        assertThat(delta.getWhiteBlockCount()).isEqualTo(before.getWhiteBlockCount() - 1);
+        assertThat(delta.getBlackBlockCount()).isNull();
+        assertThat(delta.getPlayerDataList()).extracting(PlayerGameData::getId).containsExactly(progressPlayer.getId());
+    }
+
+    @Test
+    @DisplayName("바뀐 것이 없으면 빈 delta, 나간 플레이어는 removedPlayerIdList 에 담겨야 합니다.")
+    public void emptyAndRemovedDeltaTest() throws Exception {
+        //given
+        GameRoom gameRoom = createPlayingRoom(4);
+        GameStatusData before = GameStatusData.from(gameRoom);
+
+        //when
+        GameStatusDelta emptyDelta = GameStatusDelta.between(before, before.getPlayerDataList(), GameStatusData.from(gameRoom), 2);
+
+        Player exitPlayer = gameRoom.getPlayerList().get(3);
+        gameRoom.removePlayer(exitPlayer);
+        GameStatusDelta removedDelta = GameStatusDelta.between(before, before.getPlayerDataList(), GameStatusData.from(gameRoom), 3);
+
+        //then
+        assertThat(emptyDelta.isEmpty()).isTrue();
+        assertThat(removedDelta.getRemovedPlayerIdList()).containsExactly(exitPlayer.getId());
+    }
+
+    @Test
+    @DisplayName("4인 방에서 페이즈 전환 delta 는 전체 상태보다 훨씬 작아야 합니다.")
+    public void deltaSizeTest() throws Exception {
+        //given
+        GameRoom gameRoom = createPlayingRoom(4);
+        GameStatusData before = GameStatusData.from(gameRoom);
+
+        //when
+        gameRoom.updatePhase(GameRoom.Phase.GUESS);
+        GameStatusData after = GameStatusData.from(gameRoom);
+
+        byte[] full = objectMapper.writeValueAsBytes(after.withSequence(2));
+        byte[] delta = objectMapper.writeValueAsBytes(GameStatusDelta.between(before, before.getPlayerDataList(), after, 2));
+
+        //then
+        assertThat(delta.length * 5).isLessThan(full.length);
+    }
+
+    private GameRoom createPlayingRoom(int playerCount) {
+        GameRoom gameRoom = GameRoom.create("foo");
+        ReflectionTestUtils.setField(gameRoom, "id", 1L);
+        gameRoom.gameReset();
+
+        IntStream.range(0, playerCount).forEach(i -> {
+            Player player = Player.create("player" + i, "sessionId" + i);
+            ReflectionTestUtils.setField(player, "id", (long) i + 1);
+            gameRoom.joinPlayer(player);
+        });
+        gameRoom.randomSetPlayerOrder();
+        gameRoom.updatePhase(GameRoom.Phase.DRAW);
+
+        gameRoom.getPlayerList().forEach(player -> IntStream.range(0, 4)
+                .forEach(i -> player.addBlock(gameRoom.drawRandomBlock(i % 2 == 0 ? BlockColor.WHITE : BlockColor.BLACK))));
+        return gameRoom;
+    }
+}
@@ -0,0 +1,39 @@
+package com.game.algo.algo.entity;
+
+import com.game.algo.algo.data.BlockColor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.game.algo.algo.data.GameProperty.JOKER_BLOCK_NUMBER;
+import static org.assertj.core.api.Assertions.*;
+
+class BlockTest {
+
+    @Test
+    @DisplayName("같은 색깔, 숫자, 공개여부의 블록은 같은 인스턴스여야 합니다.")
+    public void sameStateSameInstance() throws Exception {
+        //when
+        Block block = Block.create(BlockColor.WHITE, 3);
+        Block otherBlock = Block.create(BlockColor.WHITE, 3, false);
+
+        //then
+        assertThat(block).isSameAs(otherBlock);
+        assertThat(block).isNotSameAs(Block.create(BlockColor.BLACK, 3));
+    }
+
+    @Test
+    @DisplayName("블록을 공개하면 원래 블록은 그대로 두고 공개된 블록을 반환해야 합니다.")
+    public void openReturnsOpenInstance() throws Exception {
+        //given
+        Block block = Block.create(BlockColor.BLACK, JOKER_BLOCK_NUMBER);
+
+        //when
+        Block openBlock = block.open();
+
+        //then
+        assertThat(block.isClose()).isTrue();
+        assertThat(openBlock.isOpen()).isTrue();
+        assertThat(openBlock.isJoker()).isTrue();
+        assertThat(openBlock).isSameAs(Block.create(BlockColor.BLACK, JOKER_BLOCK_NUMBER, true));
+    }
+}
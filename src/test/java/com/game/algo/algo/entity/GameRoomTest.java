@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -118,6 +119,27 @@ class GameRoomTest {
         assertThat(gameRoom.getBlackBlockList().size()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("블록을 뽑을때마다 남은 블록 수가 줄어들고, 조커는 색깔별로 한번만 추가되어야 한다.")
+    public void blockCountTest() throws Exception {
+        //given
+        GameRoom gameRoom = GameRoom.create("foo");
+        gameRoom.gameReset();
+
+        //when
+        gameRoom.addJoker();
+        gameRoom.addJoker();
+        gameRoom.drawRandomBlock(BlockColor.WHITE);
+        gameRoom.drawRandomBlock(BlockColor.WHITE);
+        gameRoom.drawRandomBlock(BlockColor.BLACK);
+
+        //then
+        assertThat(gameRoom.getWhiteBlockCount()).isEqualTo(11);
+        assertThat(gameRoom.getBlackBlockCount()).isEqualTo(12);
+        assertThat(gameRoom.getWhiteBlockList().size()).isEqualTo(gameRoom.getWhiteBlockCount());
+        assertThat(gameRoom.getBlackBlockList().size()).isEqualTo(gameRoom.getBlackBlockCount());
+    }
+
     @Test
     @DisplayName("GameRoom의 Player가 4명 이하일때 Player가 정상적으로 GameRoom에 참여되어야 합니다.")
     public void joinPlayerSuccessTest() throws Exception {
@@ -170,4 +192,106 @@ class GameRoomTest {
         gameRoom.getPlayerList().stream()
                 .forEach(player -> assertThat(player.getOrderNumber()).isBetween(0, 3));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("진행 플레이어는 순서 번호로 찾아야 하며, 다음 플레이어로 넘길때 리타이어한 플레이어는 건너뛰어야 한다.")
+    public void progressPlayerByOrderTest() throws Exception {
+        //given
+        GameRoom gameRoom = GameRoom.create("foo");
+        List<Player> playerList = IntStream.range(0, 3)
+                .mapToObj(i -> Player.create("player" + i, "sessionId" + i))
+                .toList();
+        playerList.forEach(gameRoom::joinPlayer);
+
+        gameRoom.randomSetPlayerOrder();
+        Player secondPlayer = playerList.stream()
+                .filter(player -> player.getOrderNumber() == 1)
+                .findFirst()
+                .get();
+        secondPlayer.disconnect();
+
+        //when
+        Player firstPlayer = gameRoom.getProgressPlayer();
+        gameRoom.nextPlayer();
+
+        //then
+        assertThat(firstPlayer.getOrderNumber()).isEqualTo(0);
+        assertThat(gameRoom.getProgressPlayerNumber()).isEqualTo(2);
+        assertThat(gameRoom.getProgressPlayer().getOrderNumber()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("준비 / 리타이어 / 닫힌 블록 카운터는 항상 전체를 다시 세어본 결과와 같아야 한다.")
+    public void countersMatchStreamResults() throws Exception {
+        //given
+        GameRoom gameRoom = GameRoom.create("foo");
+        List<Player> playerList = IntStream.range(0, 4)
+                .mapToObj(i -> Player.create("player" + i, "sessionId" + i))
+                .toList();
+        playerList.forEach(gameRoom::joinPlayer);
+        gameRoom.gameReset();
+        gameRoom.randomSetPlayerOrder();
+        playerList.forEach(player -> player.addBlock(gameRoom.drawRandomBlock(BlockColor.WHITE)));
+
+        Random random = new Random(0);
+
+        //expect
+        for (int i = 0; i < 200; i++) {
+            Player player = playerList.get(random.nextInt(playerList.size()));
+
+            switch (random.nextInt(5)) {
+                case 0 -> player.updateReady(random.nextBoolean());
+                case 1 -> {
+                    if (player.getBlockCount() > 0) {
+                        player.guessBlock(0, player.getBlockList().get(0).getNum());
+                    }
+                }
+                case 2 -> player.disconnect();
+                case 3 -> {
+                    player.gameReset();
+                    player.addBlock(Block.create(BlockColor.BLACK, random.nextInt(12)));
+                }
+                default -> gameRoom.allPlayerReadyOff();
+            }
+
+            assertThat(gameRoom.areAllPlayersReady())
+                    .isEqualTo(gameRoom.getPlayerList().stream().allMatch(Player::isReady));
+            assertThat(gameRoom.isGameOver())
+                    .isEqualTo(gameRoom.getPlayerList().stream().filter(p -> !p.isRetire()).count() <= 1);
+            playerList.forEach(p -> assertThat(p.getClosedBlockCount())
+                    .isEqualTo((int) p.getBlockList().stream().filter(Block::isClose).count()));
+        }
+    }
+
+    @Test
+    @DisplayName("restore 하면 copyForPersist 로 복사한 시점의 방과 Player 상태로 되돌아가야 한다.")
+    public void restoreFromCopy() throws Exception {
+        //given
+        GameRoom gameRoom = GameRoom.create("foo");
+        Player player1 = Player.create("player1", "sessionId1");
+        Player player2 = Player.create("player2", "sessionId2");
+        gameRoom.joinPlayer(player1);
+        gameRoom.joinPlayer(player2);
+        gameRoom.gameReset();
+
+        GameRoom copy = gameRoom.copyForPersist();
+        List<Player> players = new ArrayList<>(gameRoom.getPlayerList());
+
+        player1.addBlock(gameRoom.drawRandomBlock(BlockColor.WHITE));
+        player1.updateReady(true);
+        player2.exit();
+        gameRoom.updatePhase(GameRoom.Phase.DRAW);
+
+        //when
+        gameRoom.restore(copy, players);
+
+        //then
+        assertThat(gameRoom.getPhase()).isEqualTo(GameRoom.Phase.WAIT);
+        assertThat(gameRoom.getWhiteBlockList().size()).isEqualTo(12);
+        assertThat(gameRoom.getPlayerList()).containsExactly(player1, player2);
+        assertThat(player1.getBlockList()).isEmpty();
+        assertThat(player1.isReady()).isFalse();
+        assertThat(player2.getGameRoom()).isSameAs(gameRoom);
+        assertThat(gameRoom.areAllPlayersReady()).isFalse();
+    }
+}
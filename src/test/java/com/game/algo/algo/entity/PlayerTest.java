@@ -123,4 +123,26 @@ class PlayerTest {
         assertThat(player.getBlockList().get(2).isJoker()).isFalse();
         assertThat(player.getBlockListCode(true).get(2)).isEqualTo(backNum);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("조커가 중간에 놓여있어도 새 블럭은 조커를 제외한 블럭들 사이의 정렬 위치에 들어가야 합니다.")
+    public void addBlockAroundJokerTest() throws Exception {
+        //given
+        Player player = Player.create("foo", null);
+        player.gameReset();
+
+        player.addBlock(Block.create(BlockColor.WHITE, 1));
+        player.addBlock(Block.create(BlockColor.WHITE, 5));
+        player.addBlock(Block.create(BlockColor.WHITE, JOKER_BLOCK_NUMBER));
+        player.updateJokerIndex(1, BlockColor.WHITE); // 1, J, 5
+
+        //when
+        player.addBlock(Block.create(BlockColor.BLACK, 7));
+        player.addBlock(Block.create(BlockColor.BLACK, 0));
+
+        //then
+        assertThat(player.getBlockListCode(true)).containsExactly(-14, 1, JOKER_BLOCK_NUMBER, 5, -7);
+        assertThat(player.getDrawBlockIndexNum()).isEqualTo(0);
+        assertThat(player.getBlockCount()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,115 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.data.GameRoomEvicted;
+import com.game.algo.algo.exception.GameExceptionCode;
+import com.game.algo.algo.exception.GameLogicException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CommandDeduplicatorTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CommandDeduplicator commandDeduplicator = new CommandDeduplicator(2, 1000, now::get);
+
+    @Test
+    @DisplayName("같은 commandId 는 한번만 실행하고 두번째부터는 처음 결과를 돌려줘야 합니다.")
+    public void duplicateReturnsCachedResultTest() {
+        //given
+        AtomicInteger executeCount = new AtomicInteger();
+
+        //when
+        Integer first = commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+        Integer second = commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+
+        //then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(executeCount.get()).isEqualTo(1);
+        assertThat(commandDeduplicator.getDuplicateCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("GameLogicException 도 결과로 기억해서 중복 요청에 같은 예외를 던져야 합니다.")
+    public void duplicateRethrowsCachedExceptionTest() {
+        //given
+        AtomicInteger executeCount = new AtomicInteger();
+        CommandDeduplicator.Command<Object, RuntimeException> command = () -> {
+            executeCount.incrementAndGet();
+            throw new GameLogicException(GameExceptionCode.PHASE_NOT_SYNC);
+        };
+
+        //when
+        Throwable first = catchThrowable(() -> commandDeduplicator.execute(1L, "session", "c-1", command));
+        Throwable second = catchThrowable(() -> commandDeduplicator.execute(1L, "session", "c-1", command));
+
+        //then
+        assertThat(first).isInstanceOf(GameLogicException.class);
+        assertThat(second).isSameAs(first);
+        assertThat(executeCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("그 외의 예외는 기억하지 않고 다시 실행해야 합니다.")
+    public void unexpectedExceptionNotCachedTest() {
+        //given
+        AtomicInteger executeCount = new AtomicInteger();
+        CommandDeduplicator.Command<Object, RuntimeException> command = () -> {
+            if (executeCount.incrementAndGet() == 1) {
+                throw new IllegalStateException("temporary");
+            }
+            return "ok";
+        };
+
+        //when
+        Throwable first = catchThrowable(() -> commandDeduplicator.execute(1L, "session", "c-1", command));
+        Object second = commandDeduplicator.execute(1L, "session", "c-1", command);
+
+        //then
+        assertThat(first).isInstanceOf(IllegalStateException.class);
+        assertThat(second).isEqualTo("ok");
+        assertThat(executeCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지났거나 LRU 로 밀려난 commandId, 다른 세션의 같은 commandId 는 다시 실행해야 합니다.")
+    public void expireAndEvictTest() {
+        //given
+        AtomicInteger executeCount = new AtomicInteger();
+        commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+
+        //when
+        commandDeduplicator.execute(1L, "other", "c-1", executeCount::incrementAndGet); // 다른 세션
+        commandDeduplicator.execute(1L, "session", "c-2", executeCount::incrementAndGet); // 용량 2 -> c-1 밀려남
+        commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+
+        now.addAndGet(1000);
+        commandDeduplicator.execute(1L, "session", "c-2", executeCount::incrementAndGet); // TTL 만료
+
+        //then
+        assertThat(executeCount.get()).isEqualTo(5);
+        assertThat(commandDeduplicator.getDuplicateCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("방이 삭제되면 그 방의 커맨드 결과만 잊어야 합니다.")
+    public void removeOnEvictTest() {
+        //given
+        AtomicInteger executeCount = new AtomicInteger();
+        commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+        commandDeduplicator.execute(2L, "session", "c-1", executeCount::incrementAndGet);
+
+        //when
+        commandDeduplicator.remove(GameRoomEvicted.create(1L));
+        commandDeduplicator.execute(1L, "session", "c-1", executeCount::incrementAndGet);
+        commandDeduplicator.execute(2L, "session", "c-1", executeCount::incrementAndGet);
+
+        //then
+        assertThat(executeCount.get()).isEqualTo(3);
+        assertThat(commandDeduplicator.getDuplicateCount()).isEqualTo(1L);
+    }
+}
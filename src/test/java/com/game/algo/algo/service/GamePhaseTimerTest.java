@@ -0,0 +1,71 @@
+package com.game.algo.algo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GamePhaseTimerTest {
+
+    private final GamePhaseTimer gamePhaseTimer = new GamePhaseTimer(10, 8);
+
+    @AfterEach
+    void stopTimer() {
+        gamePhaseTimer.stop();
+    }
+
+    @Test
+    @DisplayName("등록한 작업은 제한시간이 지나면 한번 실행되어야 한다.")
+    public void expireAfterDelay() throws Exception {
+        //given
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        //when
+        GamePhaseTimer.Timeout timeout = gamePhaseTimer.schedule(latch::countDown, 50);
+
+        //then
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(40);
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("휠을 여러 바퀴 도는 제한시간도 정해진 시간 이후에 실행되어야 한다.")
+    public void expireAfterSeveralRounds() throws Exception {
+        //given
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        //when
+        gamePhaseTimer.schedule(latch::countDown, 250); // 8칸 * 10ms = 80ms 휠을 세바퀴 이상 돈다
+
+        //then
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(240);
+    }
+
+    @Test
+    @DisplayName("취소된 작업은 실행되지 않아야 한다.")
+    public void cancelledTimeoutNotExpire() throws Exception {
+        //given
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        GamePhaseTimer.Timeout timeout = gamePhaseTimer.schedule(count::incrementAndGet, 50);
+
+        //when
+        boolean cancel = timeout.cancel();
+        gamePhaseTimer.schedule(latch::countDown, 100);
+
+        //then
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancel).isTrue();
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(count.get()).isZero();
+    }
+}
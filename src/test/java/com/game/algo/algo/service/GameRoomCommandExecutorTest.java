@@ -0,0 +1,98 @@
+package com.game.algo.algo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GameRoomCommandExecutorTest {
+
+    private final GameRoomCommandExecutor gameRoomCommandExecutor = new GameRoomCommandExecutor();
+
+    @AfterEach
+    void tearDown() {
+        gameRoomCommandExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 차례를 넘겨받은 호출 스레드가 실행중이어도 다른 방의 커맨드는 워커에서 실행되어야 합니다.")
+    public void callerTurnDoesNotHoldWorkerTest() throws Exception {
+        //given
+        int callerCount = Runtime.getRuntime().availableProcessors() + 1;
+        CountDownLatch started = new CountDownLatch(callerCount);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        List<CompletableFuture<Void>> callers = IntStream.range(0, callerCount)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    TransactionSynchronizationManager.setActualTransactionActive(true);
+                    try {
+                        gameRoomCommandExecutor.submit((long) i, () -> {
+                            started.countDown();
+                            await(finish);
+                            return null;
+                        });
+                    } finally {
+                        TransactionSynchronizationManager.setActualTransactionActive(false);
+                    }
+                }, runnable -> new Thread(runnable).start()))
+                .toList();
+
+        //when
+        boolean allStarted = started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> otherRoom = CompletableFuture.supplyAsync(() ->
+                gameRoomCommandExecutor.submit(1000L, () -> "done"));
+
+        //then
+        assertThat(allStarted).isTrue();
+        assertThat(otherRoom.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+
+        finish.countDown();
+        CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("처리중인 방의 메일박스를 지워도, 이후의 커맨드는 앞의 커맨드가 끝난 뒤에 순서대로 실행되어야 합니다.")
+    public void removeWhileDrainingTest() throws Exception {
+        //given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        gameRoomCommandExecutor.post(1L, () -> {
+            running.countDown();
+            await(finish);
+            executed.add("first");
+        });
+        running.await(5, TimeUnit.SECONDS);
+
+        //when
+        gameRoomCommandExecutor.remove(1L);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                gameRoomCommandExecutor.submit(1L, () -> executed.add("second")));
+
+        //then
+        Thread.sleep(100);
+        assertThat(executed).isEmpty();
+
+        finish.countDown();
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(executed).containsExactly("first", "second");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
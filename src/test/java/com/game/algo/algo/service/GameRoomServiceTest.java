@@ -1,7 +1,9 @@
 package com.game.algo.algo.service;
 
 import com.game.algo.algo.data.BlockColor;
+import com.game.algo.algo.data.GameStatusUpdateCommand;
 import com.game.algo.algo.dto.response.GameRoomSimple;
+import com.game.algo.algo.dto.response.ResponseGameData;
 import com.game.algo.algo.entity.Block;
 import com.game.algo.algo.entity.GameRoom;
 import com.game.algo.algo.entity.Player;
@@ -14,10 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,11 +30,14 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 @SpringBootTest
 @Transactional
+@RecordApplicationEvents
 class GameRoomServiceTest {
 
     @Autowired private GameRoomService gameRoomService;
     @Autowired private GameRoomRepository gameRoomRepository;
     @Autowired private PlayerRepository playerRepository;
+    @Autowired private GameRoomWriteBehindPersister gameRoomWriteBehindPersister;
+    @Autowired private ApplicationEvents applicationEvents;
 
     @Test
     @DisplayName("GameRoom을 생성하고 저장, Id로 찾기가 정상적으로 이루어져야 합니다.")
@@ -88,6 +96,33 @@ class GameRoomServiceTest {
         assertThat(gameRoomRepository.findById(gameRoomId).isEmpty()).isTrue();
     }
 
+    @Test
+    @DisplayName("게임 상태가 바뀌면 플레이어별 게임 데이터를 담은 이벤트가 발행됩니다.")
+    public void sendGameStatusUpdateCommandWithGameData() throws Exception {
+        //given
+        GameRoom gameRoom = gameRoomRepository.save(GameRoom.create("GameRoom"));
+        IntStream.range(0, 4)
+                .mapToObj(i -> playerRepository.save(Player.create("player" + i, "sessionId" + i)))
+                .forEach(player -> {
+                    player.updateReady(true);
+                    gameRoom.joinPlayer(player);
+                });
+
+        //when
+        gameRoomService.gameStart(gameRoom.getId());
+
+        //then
+        List<GameStatusUpdateCommand> commands = applicationEvents.stream(GameStatusUpdateCommand.class).toList();
+        assertThat(commands).hasSize(1);
+
+        Map<String, ResponseGameData> gameDataMap = commands.get(0).getGameDataMap();
+        assertThat(gameDataMap).containsOnlyKeys("sessionId0", "sessionId1", "sessionId2", "sessionId3");
+        gameDataMap.forEach((sessionId, gameData) -> {
+            assertThat(gameData.getOwnerBlockData().getSessionId()).isEqualTo(sessionId);
+            assertThat(gameData.getGameStatusData().getPhase()).isEqualTo(GameRoom.Phase.SETTING);
+        });
+    }
+
     @Test
     @DisplayName("모든 플레이어가 준비완료일때 정상적으로 게임이 시작되며 SETTING 페이즈로 넘어갑니다.")
     public void gameStartSuccess() throws Exception {
@@ -210,6 +245,7 @@ class GameRoomServiceTest {
         } catch (CannotAcquireLockException e) {
 
         }
+        gameRoomWriteBehindPersister.flush();
 
         //then
         Player findPlayer = playerRepository.findById(player.getId()).get();
@@ -32,6 +32,7 @@ class GameServiceTest {
     @Autowired private GameService gameService;
     @Autowired private GameRoomRepository gameRoomRepository;
     @Autowired private PlayerRepository playerRepository;
+    @Autowired private GameRoomWriteBehindPersister gameRoomWriteBehindPersister;
 
     @Test
     @DisplayName("존재하지 않는 Player의 Id를 조회하려 하면 알맞은 익셉션이 발생합니다.")
@@ -284,6 +285,33 @@ class GameServiceTest {
                 .withMessageMatching(GameExceptionCode.INVALID_NUMBER_OF_BLOCKS.getMessage());
     }
 
+    @Test
+    @DisplayName("커맨드가 상태를 바꾸던 도중 익셉션이 발생하면 GameRoom과 Player의 상태는 커맨드 실행 전으로 되돌아갑니다.")
+    public void drawBlockTestFail_RollbackAutoDraw() throws Exception {
+        //given
+        Player player = playerRepository.save(Player.create("foo", "sessionId"));
+        GameRoom gameRoom = gameRoomRepository.save(GameRoom.create("GameRoom"));
+
+        gameRoom.joinPlayer(player);
+        gameRoom.gameReset();
+
+        gameRoom.updatePhase(GameRoom.Phase.START);
+
+        //when
+        assertThatExceptionOfType(GameLogicException.class)
+                .isThrownBy(() -> gameService.drawBlockAtStart(gameRoom.getId(), player.getId(), 2, 3));
+
+        //then
+        GameRoom findGameRoom = gameService.findGameRoomById(gameRoom.getId());
+        Player findPlayer = gameService.findPlayerById(player.getId());
+
+        assertThat(findPlayer.getBlockList()).isEmpty();
+        assertThat(findPlayer.isReady()).isFalse();
+        assertThat(findGameRoom.getWhiteBlockList().size()).isEqualTo(12);
+        assertThat(findGameRoom.getBlackBlockList().size()).isEqualTo(12);
+        assertThat(findGameRoom.areAllPlayersReady()).isFalse();
+    }
+
     @Test
     @DisplayName("START 페이즈에서 DRAW 페이즈로 정상적으로 넘어가져야 합니다.")
     public void endStartPhaseSuccess() throws Exception {
@@ -480,6 +508,37 @@ class GameServiceTest {
         assertThat(findPlayer.isReady()).isFalse();
     }
 
+    @Test
+    @DisplayName("다른 GameRoom의 Player로 블럭을 가져오거나 추리하려 하면 알맞은 익셉션이 발생합니다.")
+    public void commandWithPlayerInOtherGameRoomFail() throws Exception {
+        //given
+        GameRoom gameRoom = gameRoomRepository.save(GameRoom.create("GameRoom"));
+        GameRoom otherGameRoom = gameRoomRepository.save(GameRoom.create("OtherGameRoom"));
+        Player player = playerRepository.save(Player.create("foo", "sessionId"));
+        Player targetPlayer = playerRepository.save(Player.create("bar", "sessionId"));
+
+        gameRoom.gameReset();
+        otherGameRoom.gameReset();
+
+        otherGameRoom.joinPlayer(player);
+
+        gameRoom.joinPlayer(targetPlayer);
+        IntStream.range(0, 4).forEach(i -> targetPlayer.addBlock(Block.create(BlockColor.WHITE, i)));
+
+        gameRoom.updatePhase(GameRoom.Phase.GUESS);
+
+        //expect
+        assertThatExceptionOfType(GameLogicException.class)
+                .isThrownBy(() -> gameService.drawBlockAtDrawPhase(gameRoom.getId(), player.getId(), BlockColor.WHITE))
+                .withMessageMatching(GameExceptionCode.INVALID_PLAYER.getMessage());
+        assertThatExceptionOfType(GameLogicException.class)
+                .isThrownBy(() -> gameService.guessBlock(player.getId(), targetPlayer.getId(), 0, 0))
+                .withMessageMatching(GameExceptionCode.INVALID_PLAYER.getMessage());
+
+        assertThat(targetPlayer.getBlockList().get(0).isClose()).isTrue();
+        assertThat(player.getBlockList()).isEmpty();
+    }
+
     @Test
     @DisplayName("추리에 성공해 targetPlayer의 모든 Block이 OPNE 된 경우 해당 Player를 retire 시킵니다.")
     public void RetireTargetPlayer() throws Exception {
@@ -844,6 +903,7 @@ class GameServiceTest {
         } catch (CannotAcquireLockException e) {
 
         }
+        gameRoomWriteBehindPersister.flush();
 
         //then
         Player findPlayer = playerRepository.findById(player.getId()).get();
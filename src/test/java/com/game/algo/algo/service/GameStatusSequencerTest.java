@@ -0,0 +1,213 @@
+package com.game.algo.algo.service;
+
+import com.game.algo.algo.data.GameRoomEvicted;
+import com.game.algo.algo.dto.response.GameStatusData;
+import com.game.algo.algo.dto.response.GameStatusDelta;
+import com.game.algo.algo.dto.response.PhaseUpdate;
+import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.algo.entity.Player;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.MessageDataResponse;
+import com.game.algo.websocket.service.WebSocketService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GameStatusSequencerTest {
+
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+    private final GameStatusSequencer gameStatusSequencer = new GameStatusSequencer(webSocketService);
+
+    @Test
+    @DisplayName("처음에는 전체 상태를, 그 다음부터는 sequence 가 1씩 증가하는 delta 를 보내야 합니다.")
+    public void fullThenDeltaTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(4);
+
+        //when
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService, times(2)).broadcast(anyCollection(), captor.capture());
+
+        List<MessageDataResponse> messages = captor.getAllValues();
+        assertThat(messages.get(0).getType()).isEqualTo(MessageType.GameStatusData);
+        assertThat(((GameStatusData) messages.get(0).getMessage()).getSequence()).isEqualTo(1L);
+        assertThat(messages.get(1).getType()).isEqualTo(MessageType.GameStatusDelta);
+        assertThat(((GameStatusDelta) messages.get(1).getMessage()).getSequence()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("새로 들어온 세션만 전체 상태를 받고, 바뀐 것이 없으면 sequence 가 증가하지 않아야 합니다.")
+    public void newSessionReceivesFullTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(2);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+
+        Player newPlayer = Player.create("player2", "sessionId2");
+        ReflectionTestUtils.setField(newPlayer, "id", 3L);
+        gameRoom.joinPlayer(newPlayer);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+
+        //when
+        List<List<String>> targets = new ArrayList<>();
+        List<GameStatusDelta> deltas = new ArrayList<>();
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom), (fullTargets, snapshot, deltaTargets, delta) -> {
+            targets.add(fullTargets);
+            targets.add(deltaTargets);
+            deltas.add(delta);
+            assertThat(snapshot.getSequence()).isEqualTo(2L);
+        });
+
+        //then
+        assertThat(targets.get(0)).isEmpty();
+        assertThat(targets.get(1)).containsExactly("sessionId0", "sessionId1", "sessionId2");
+        assertThat(deltas.get(0)).isNull();
+    }
+
+    @Test
+    @DisplayName("재접속한 세션에는 마지막으로 받은 sequence 이후의 delta 만 순서대로 다시 보내야 합니다.")
+    public void replayMissedDeltaTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(2);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.START);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+
+        gameRoom.getPlayerList().get(0).setWebSocketSessionId("resumed");
+        clearInvocations(webSocketService);
+
+        //when
+        gameStatusSequencer.replay(gameStatusSequencer.capture(gameRoom), "resumed", 1L);
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService, times(2)).broadcast(eq(List.of("resumed")), captor.capture());
+
+        List<MessageDataResponse> messages = captor.getAllValues();
+        assertThat(messages).extracting(MessageDataResponse::getType)
+                .containsOnly(MessageType.GameStatusDelta);
+        assertThat(messages).extracting(message -> ((GameStatusDelta) message.getMessage()).getSequence())
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("링 버퍼가 이미 덮어쓴 구간이면 전체 상태를 보내야 합니다.")
+    public void replayOverwrittenTest() throws Exception {
+        //given
+        ReflectionTestUtils.setField(gameStatusSequencer, "replaySize", 1);
+        GameRoom gameRoom = createGameRoom(2);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.START);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        clearInvocations(webSocketService);
+
+        //when
+        gameStatusSequencer.replay(gameStatusSequencer.capture(gameRoom), "resumed", 1L);
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService).broadcast(eq(List.of("resumed")), captor.capture());
+
+        assertThat(captor.getValue().getType()).isEqualTo(MessageType.GameStatusData);
+        assertThat(((GameStatusData) captor.getValue().getMessage()).getSequence()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("방이 삭제되면 방의 상태를 잊고, 같은 id 로 다시 보내면 전체 상태부터 시작해야 합니다.")
+    public void removeOnEvictTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(2);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+        clearInvocations(webSocketService);
+
+        //when
+        gameStatusSequencer.remove(GameRoomEvicted.create(gameRoom.getId()));
+        gameStatusSequencer.publish(gameStatusSequencer.capture(gameRoom));
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService).broadcast(anyCollection(), captor.capture());
+
+        assertThat(captor.getValue().getType()).isEqualTo(MessageType.GameStatusData);
+        assertThat(((GameStatusData) captor.getValue().getMessage()).getSequence()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("더 나중에 복사한 상태를 먼저 보냈다면, 늦게 도착한 이전 capture 는 버려야 합니다.")
+    public void staleCaptureTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(2);
+        GameStatusSequencer.StatusCapture before = gameStatusSequencer.capture(gameRoom);
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        GameStatusSequencer.StatusCapture after = gameStatusSequencer.capture(gameRoom);
+
+        //when
+        gameStatusSequencer.publish(after);
+        gameStatusSequencer.publish(before);
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService).broadcast(anyCollection(), captor.capture());
+
+        GameStatusData sent = (GameStatusData) captor.getValue().getMessage();
+        assertThat(sent.getSequence()).isEqualTo(1L);
+        assertThat(sent.getPhase()).isEqualTo(GameRoom.Phase.SETTING);
+    }
+
+    @Test
+    @DisplayName("PhaseUpdate 는 복사한 시점의 상태로 보내고, 복사한 뒤에 바뀐 방의 상태는 섞이지 않아야 합니다.")
+    public void phaseUpdateFromCaptureTest() throws Exception {
+        //given
+        GameRoom gameRoom = createGameRoom(2);
+        gameRoom.updatePhase(GameRoom.Phase.SETTING);
+        GameStatusSequencer.StatusCapture capture = gameStatusSequencer.capturePhaseUpdate(gameRoom, true, false);
+
+        //when
+        gameRoom.updatePhase(GameRoom.Phase.START);
+        gameStatusSequencer.publishPhaseUpdate(capture);
+
+        //then
+        ArgumentCaptor<MessageDataResponse> captor = ArgumentCaptor.forClass(MessageDataResponse.class);
+        verify(webSocketService, times(2)).broadcast(anyCollection(), captor.capture());
+
+        assertThat(captor.getAllValues()).allSatisfy(message -> {
+            PhaseUpdate phaseUpdate = (PhaseUpdate) message.getMessage();
+            assertThat(message.getType()).isEqualTo(MessageType.PhaseUpdate);
+            assertThat(phaseUpdate.getWaitForSec()).isEqualTo(GameRoom.Phase.SETTING.getWaitTime());
+            assertThat(phaseUpdate.getGameStatusData().getPhase()).isEqualTo(GameRoom.Phase.SETTING);
+            assertThat(phaseUpdate.getOwnerBlockData()).isNotNull();
+            assertThat(phaseUpdate.getDrawBlockData()).isNull();
+        });
+    }
+
+    private GameRoom createGameRoom(int playerCount) {
+        GameRoom gameRoom = GameRoom.create("foo");
+        ReflectionTestUtils.setField(gameRoom, "id", 1L);
+
+        IntStream.range(0, playerCount).forEach(i -> {
+            Player player = Player.create("player" + i, "sessionId" + i);
+            ReflectionTestUtils.setField(player, "id", (long) i + 1);
+            gameRoom.joinPlayer(player);
+        });
+        return gameRoom;
+    }
+}
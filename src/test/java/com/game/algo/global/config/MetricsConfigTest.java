@@ -0,0 +1,83 @@
+package com.game.algo.global.config;
+
+import com.game.algo.algo.service.CommandDeduplicator;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.service.InboundRateLimiter;
+import com.game.algo.websocket.service.SessionHeartbeatSweeper;
+import com.game.algo.websocket.service.WebSocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricsConfigTest {
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("수신 한도를 넘어서 거절 / 합쳐진 프레임 수가 타입별 카운터로 조회되어야 합니다.")
+    public void inboundRateLimiterMetricsTest() throws Exception {
+        //given
+        InboundRateLimiter inboundRateLimiter = new InboundRateLimiter(true, 1, 1, 1, 1);
+        inboundRateLimiter.register("session");
+        metricsConfig.inboundRateLimiterMetrics(inboundRateLimiter).bindTo(registry);
+
+        //when
+        inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+        inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+        inboundRateLimiter.tryAcquire("session", MessageType.NextPhase);
+        inboundRateLimiter.tryAcquire("session", MessageType.NextPhase);
+
+        //then
+        assertThat(registry.get("algo.websocket.inbound.rejected").tag("type", "BlockGuess").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("algo.websocket.inbound.coalesced").tag("type", "NextPhase").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("algo.websocket.inbound.rejected").tag("type", "GameStart").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("송신 큐 대기 프레임 수는 세션별이 아닌 전체 합과 최대값으로 조회되어야 합니다.")
+    public void outboundQueueMetricsTest() throws Exception {
+        //given
+        WebSocketService webSocketService = mock(WebSocketService.class);
+        when(webSocketService.getQueueDepths()).thenReturn(Map.of("session1", 3, "session2", 5));
+        metricsConfig.outboundQueueMetrics(webSocketService).bindTo(registry);
+
+        //expect
+        assertThat(registry.get("algo.websocket.outbound.queued").gauge().value()).isEqualTo(8.0);
+        assertThat(registry.get("algo.websocket.outbound.queue.max").gauge().value()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("기억한 결과로 응답한 재전송 커맨드 수가 카운터로 조회되어야 합니다.")
+    public void commandDeduplicatorMetricsTest() throws Exception {
+        //given
+        CommandDeduplicator commandDeduplicator = new CommandDeduplicator(16, 60000);
+        metricsConfig.commandDeduplicatorMetrics(commandDeduplicator).bindTo(registry);
+
+        //when
+        commandDeduplicator.execute(1L, "session", "c-1", () -> 1);
+        commandDeduplicator.execute(1L, "session", "c-1", () -> 1);
+
+        //then
+        assertThat(registry.get("algo.command.duplicate").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("스위퍼가 본 살아있는 세션 수와 닫은 세션 수가 조회되어야 합니다.")
+    public void sessionHeartbeatMetricsTest() throws Exception {
+        //given
+        SessionHeartbeatSweeper sessionHeartbeatSweeper = mock(SessionHeartbeatSweeper.class);
+        when(sessionHeartbeatSweeper.getAliveCount()).thenReturn(7);
+        when(sessionHeartbeatSweeper.getEvictedCount()).thenReturn(2L);
+        metricsConfig.sessionHeartbeatMetrics(sessionHeartbeatSweeper).bindTo(registry);
+
+        //expect
+        assertThat(registry.get("algo.websocket.sessions.alive").gauge().value()).isEqualTo(7.0);
+        assertThat(registry.get("algo.websocket.sessions.evicted").functionCounter().count()).isEqualTo(2.0);
+    }
+}
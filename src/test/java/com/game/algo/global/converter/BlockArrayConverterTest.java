@@ -0,0 +1,53 @@
+package com.game.algo.global.converter;
+
+import com.game.algo.algo.data.BlockColor;
+import com.game.algo.algo.entity.BlockHand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.game.algo.algo.data.GameProperty.JOKER_BLOCK_NUMBER;
+import static org.assertj.core.api.Assertions.*;
+
+class BlockArrayConverterTest {
+
+    private final BlockArrayConverter converter = new BlockArrayConverter();
+
+    @Test
+    @DisplayName("패는 버전 1 byte + 블록당 1 byte 로 저장되고 그대로 복원되어야 합니다.")
+    public void binaryRoundTrip() throws Exception {
+        //given
+        BlockHand hand = new BlockHand();
+        hand.append(BlockColor.WHITE, 0, false);
+        hand.append(BlockColor.BLACK, JOKER_BLOCK_NUMBER, true);
+        hand.append(BlockColor.BLACK, 11, false);
+
+        //when
+        byte[] dbData = converter.convertToDatabaseColumn(hand);
+        BlockHand loadHand = converter.convertToEntityAttribute(dbData);
+
+        //then
+        assertThat(dbData.length).isEqualTo(hand.size() + 1);
+        assertThat(loadHand).isEqualTo(hand);
+        assertThat(loadHand.isOpen(1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("이전 문자열 형식으로 저장된 패도 읽을 수 있어야 합니다.")
+    public void readLegacyString() throws Exception {
+        //given
+        byte[] legacyData = "14&c,-12&o,-11&c".getBytes(StandardCharsets.US_ASCII);
+
+        //when
+        BlockHand loadHand = converter.convertToEntityAttribute(legacyData);
+
+        //then
+        assertThat(loadHand.size()).isEqualTo(3);
+        assertThat(loadHand.getBlockCode(0, true)).isEqualTo(14);
+        assertThat(loadHand.getBlockCode(1, true)).isEqualTo(-12);
+        assertThat(loadHand.isOpen(1)).isTrue();
+        assertThat(loadHand.getBlockCode(2, false)).isEqualTo(-13);
+        assertThat(converter.convertToEntityAttribute(new byte[0]).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,45 @@
+package com.game.algo.global.converter;
+
+import com.game.algo.algo.data.BlockColor;
+import com.game.algo.algo.entity.BlockHand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BlockHandTypeTest {
+
+    private final BlockHandType blockHandType = new BlockHandType();
+
+    @Test
+    @DisplayName("스냅샷은 원본이 바뀌기 전까지 같다고 판단되고, 바뀐 뒤에는 다르다고 판단되어야 합니다.")
+    public void dirtyCheckByVersion() throws Exception {
+        //given
+        BlockHand hand = new BlockHand();
+        hand.add(BlockColor.WHITE, 3, false);
+        Object snapshot = blockHandType.deepCopy(hand);
+
+        //expect
+        assertThat(snapshot).isNotSameAs(hand);
+        assertThat(blockHandType.equals(snapshot, hand)).isTrue();
+
+        hand.open(0);
+        assertThat(blockHandType.equals(snapshot, hand)).isFalse();
+        assertThat(((BlockHand) snapshot).isOpen(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("version 이 같아도 내용이 다르면 다르다고 판단되어야 합니다.")
+    public void dirtyCheckByContent() throws Exception {
+        //given
+        BlockHand hand = new BlockHand();
+        hand.add(BlockColor.WHITE, 3, false);
+        BlockHand reloadHand = new BlockHand();
+        reloadHand.add(BlockColor.BLACK, 5, false);
+
+        //expect
+        assertThat(hand.getVersion()).isEqualTo(reloadHand.getVersion());
+        assertThat(blockHandType.equals(hand, reloadHand)).isFalse();
+        assertThat(blockHandType.equals(hand, blockHandType.deepCopy(hand))).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.algo.data.BlockColor;
+import com.game.algo.algo.dto.response.GameStatusData;
+import com.game.algo.algo.dto.response.OwnerBlockData;
+import com.game.algo.algo.entity.Block;
+import com.game.algo.algo.entity.GameRoom;
+import com.game.algo.algo.entity.Player;
+import com.game.algo.websocket.data.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryMessageEncoderTest {
+
+    private final BinaryMessageEncoder binaryMessageEncoder = new BinaryMessageEncoder();
+
+    @Test
+    @DisplayName("OwnerBlockData 는 [타입][sessionId][블록 개수][블록 코드] 순서로 직렬화되어야 합니다.")
+    public void ownerBlockDataLayoutTest() throws Exception {
+        //given
+        Player player = Player.create("foo", "abc");
+        player.addBlock(Block.create(BlockColor.WHITE, 3));
+        player.addBlock(Block.create(BlockColor.BLACK, 0));
+
+        //when
+        byte[] bytes = binaryMessageEncoder.encode(MessageType.OwnerBlockData, OwnerBlockData.from(player));
+
+        //then
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertThat(buffer.get()).isEqualTo((byte) 25);
+        assertThat(buffer.get()).isEqualTo((byte) 3); // sessionId 길이
+        byte[] sessionId = new byte[3];
+        buffer.get(sessionId);
+        assertThat(new String(sessionId)).isEqualTo("abc");
+        assertThat(buffer.get()).isEqualTo((byte) 2);
+        for (Integer blockCode : player.getBlockListCode(true)) {
+            assertThat(buffer.get()).isEqualTo(blockCode.byteValue());
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("4인 방의 GameStatusData 는 JSON 보다 작게 직렬화되어야 합니다.")
+    public void gameStatusDataSizeTest() throws Exception {
+        //given
+        GameRoom gameRoom = GameRoom.create("foo");
+        ReflectionTestUtils.setField(gameRoom, "id", 300L);
+        gameRoom.gameReset();
+        IntStream.range(0, 4).forEach(i -> {
+            Player player = Player.create("player" + i, "sessionId" + i);
+            ReflectionTestUtils.setField(player, "id", (long) i + 1);
+            gameRoom.joinPlayer(player);
+            IntStream.range(0, 4).forEach(j -> player.addBlock(gameRoom.drawRandomBlock(BlockColor.WHITE)));
+        });
+        GameStatusData gameStatusData = GameStatusData.from(gameRoom).withSequence(7);
+
+        //when
+        byte[] binary = binaryMessageEncoder.encode(MessageType.GameStatusData, gameStatusData);
+        byte[] json = new ObjectMapper().writeValueAsBytes(gameStatusData);
+
+        //then
+        ByteBuffer buffer = ByteBuffer.wrap(binary);
+        assertThat(buffer.get()).isEqualTo((byte) 22);
+        assertThat(buffer.get() & 0xFF).isEqualTo((300 & 0x7F) | 0x80); // varint id
+        assertThat(buffer.get()).isEqualTo((byte) (300 >>> 7));
+        assertThat(binary.length * 4).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("바이너리 레이아웃이 없는 메세지는 null 을 반환해 JSON 으로 보내게 해야 합니다.")
+    public void unsupportedMessageTest() throws Exception {
+        //expect
+        assertThat(binaryMessageEncoder.encode(MessageType.WaitForSec, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("MessageType 의 code 는 서로 겹치지 않고 JSON / 압축 프레임의 첫 바이트와도 겹치지 않아야 합니다.")
+    public void messageTypeCodeTest() throws Exception {
+        //when
+        List<Integer> codeList = Arrays.stream(MessageType.values()).map(MessageType::getCode).toList();
+
+        //then
+        assertThat(codeList).doesNotHaveDuplicates();
+        assertThat(codeList).allMatch(code -> code >= 0 && code < '{');
+        assertThat(MessageType.DrawBlockData.getCode()).isEqualTo(21);
+        assertThat(MessageType.GameStatusData.getCode()).isEqualTo(22);
+        assertThat(MessageType.OwnerBlockData.getCode()).isEqualTo(25);
+    }
+}
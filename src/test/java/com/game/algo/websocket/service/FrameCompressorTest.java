@@ -0,0 +1,176 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.websocket.data.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FrameCompressorTest {
+
+    private static final int ROUNDS = 2000;
+
+    private final MessageFrameEncoder encoder = new MessageFrameEncoder(new ObjectMapper());
+    private final FrameCompressor frameCompressor = new FrameCompressor(512, 1);
+
+    @Test
+    @DisplayName("min-size 보다 작은 프레임은 압축하지 않고 그대로 돌려줘야 합니다.")
+    public void smallFrameTest() throws Exception {
+        //given
+        byte[] frame = encoder.encode(MessageType.WaitForSec, Map.of("second", 30));
+
+        //when
+        byte[] result = frameCompressor.compress(frame);
+
+        //then
+        assertThat(frame.length).isLessThan(frameCompressor.getMinSize());
+        assertThat(result).isSameAs(frame);
+    }
+
+    @Test
+    @DisplayName("min-size 이상인 프레임은 0xFE 로 시작하고, 풀면 원래 프레임과 같아야 합니다.")
+    public void largeFrameTest() throws Exception {
+        //given
+        byte[] frame = encoder.encode(MessageType.GameRoomFind, gameRoomListPayload(60));
+
+        //when
+        byte[] result = frameCompressor.compress(frame);
+
+        //then
+        assertThat(result.length).isLessThan(frame.length);
+        assertThat(result[0] & 0xFF).isEqualTo(FrameCompressor.COMPRESSED_MARKER);
+        assertThat(inflate(result, frame.length)).isEqualTo(frame);
+    }
+
+    @Test
+    @DisplayName("압축해도 작아지지 않는 프레임은 그대로 돌려줘야 합니다.")
+    public void incompressibleFrameTest() {
+        //given
+        byte[] frame = new byte[1024];
+        new Random(1).nextBytes(frame);
+
+        //when
+        byte[] result = frameCompressor.compress(frame);
+
+        //then
+        assertThat(result).isSameAs(frame);
+    }
+
+    @Test
+    @DisplayName("작은 메세지 타입은 그대로, 큰 메세지 타입만 압축되어 원래 프레임으로 풀려야 합니다.")
+    public void messageTypeSizeTest() throws Exception {
+        //given
+        byte[] waitForSec = encoder.encode(MessageType.WaitForSec, Map.of("second", 30));
+        byte[] ownerBlockData = encoder.encode(MessageType.OwnerBlockData, Map.of("blockCodeList", List.of(-14, 1, -13, 13, 5, 12, -7)));
+        byte[] gameRoomFind = encoder.encode(MessageType.GameRoomFind, gameRoomListPayload(60));
+
+        //when
+        byte[] compressedGameRoomFind = frameCompressor.compress(gameRoomFind);
+
+        //then
+        assertThat(frameCompressor.compress(waitForSec)).isSameAs(waitForSec);
+        assertThat(frameCompressor.compress(ownerBlockData)).isSameAs(ownerBlockData);
+        assertThat(compressedGameRoomFind.length * 2).isLessThan(gameRoomFind.length);
+        assertThat(inflate(compressedGameRoomFind, gameRoomFind.length)).isEqualTo(gameRoomFind);
+    }
+
+    /**
+     * 메세지 타입별로 압축을 끈 경우(인코딩만) 와 켠 경우(인코딩 + 압축) 의 크기와 비용을 측정한다.
+     * 시간에 대한 단정은 하지 않으므로 기본 test 에서는 제외되고 ./gradlew benchmark 로만 실행된다.
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("메세지 타입별 압축 on / off 크기와 비용을 측정합니다.")
+    public void compressionBenchmark() throws Exception {
+        Map<MessageType, Object> payloads = new LinkedHashMap<>();
+        payloads.put(MessageType.WaitForSec, Map.of("second", 30));
+        payloads.put(MessageType.OwnerBlockData, Map.of("blockCodeList", List.of(-14, 1, -13, 13, 5, 12, -7)));
+        payloads.put(MessageType.GameStatusDelta, Map.of("id", 1, "sequence", 12, "phase", "GUESS", "progressPlayerNumber", 2));
+        payloads.put(MessageType.GameStatusData, gameStatusPayload());
+        payloads.put(MessageType.PhaseUpdate, Map.of("second", 30, "gameStatusData", gameStatusPayload(),
+                "ownerBlockData", Map.of("blockCodeList", List.of(-14, 1, -13, 13, 5, 12, -7))));
+        payloads.put(MessageType.GameRoomFind, gameRoomListPayload(60));
+
+        for (Map.Entry<MessageType, Object> entry : payloads.entrySet()) {
+            MessageType type = entry.getKey();
+            Object payload = entry.getValue();
+
+            // 워밍업
+            runEncode(type, payload, false, ROUNDS / 10);
+            runEncode(type, payload, true, ROUNDS / 10);
+
+            //when
+            long offNanos = runEncode(type, payload, false, ROUNDS);
+            long onNanos = runEncode(type, payload, true, ROUNDS);
+            byte[] frame = encoder.encode(type, payload);
+            byte[] compressed = frameCompressor.compress(frame);
+
+            System.out.printf("%-16s off: %6d bytes %7d ns/msg  |  on: %6d bytes %7d ns/msg%n",
+                    type, frame.length, offNanos / ROUNDS, compressed.length, onNanos / ROUNDS);
+
+            //then
+            assertThat(compressed.length).isLessThanOrEqualTo(frame.length);
+        }
+    }
+
+    private long runEncode(MessageType type, Object payload, boolean compression, int rounds) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            byte[] frame = encoder.encode(type, payload);
+            if (compression) {
+                frameCompressor.compress(frame);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private byte[] inflate(byte[] compressed, int originalLength) throws Exception {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(compressed, 1, compressed.length - 1);
+        byte[] result = new byte[originalLength];
+        int length = inflater.inflate(result);
+        inflater.end();
+        return Arrays.copyOf(result, length);
+    }
+
+    private Map<String, Object> gameStatusPayload() {
+        List<Map<String, Object>> playerDataList = IntStream.range(0, 4)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "id", i,
+                        "name", "player" + i,
+                        "orderNumber", i,
+                        "blockCodeList", List.of(-14, 1, -13, 13, 5, 12, -7),
+                        "drawBlockIndexNum", 3,
+                        "ready", false,
+                        "retire", false))
+                .toList();
+
+        return Map.of(
+                "id", 1,
+                "phase", "GUESS",
+                "playerDataList", playerDataList,
+                "progressPlayerNumber", 2,
+                "whiteBlockCount", 5,
+                "blackBlockCount", 6);
+    }
+
+    private List<Map<String, Object>> gameRoomListPayload(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "id", i,
+                        "title", "game room " + i,
+                        "playerCount", i % 4 + 1,
+                        "start", false))
+                .toList();
+    }
+}
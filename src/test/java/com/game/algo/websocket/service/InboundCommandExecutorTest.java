@@ -0,0 +1,163 @@
+package com.game.algo.websocket.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InboundCommandExecutorTest {
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 방의 커맨드는 여러 세션에서 들어와도 도착 순서대로 하나씩 실행되어야 합니다.")
+    public void sameRoomOrderTest() throws Exception {
+        //given
+        InboundCommandExecutor executor = new InboundCommandExecutor(true, 10_000, workers);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            int order = i;
+            executor.execute("session" + (i % 4), 1L, () -> {
+                executed.add(order);
+                done.countDown();
+            });
+        }
+        done.await(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(executed).hasSize(1000).isSorted();
+        assertThat(executor.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("방을 모르는 커맨드는 세션이 마지막으로 사용한 방의 레인을 따라가야 합니다.")
+    public void followSessionRoomLaneTest() throws Exception {
+        //given
+        InboundCommandExecutor executor = new InboundCommandExecutor(true, 10_000, workers);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        //when
+        executor.execute("session", 1L, () -> {
+            awaitQuietly(blocker);
+            executed.add("room");
+            done.countDown();
+        });
+        executor.execute("session", null, () -> {
+            executed.add("session");
+            done.countDown();
+        });
+        blocker.countDown();
+        done.await(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(executed).containsExactly("room", "session");
+    }
+
+    @Test
+    @DisplayName("대기중인 커맨드가 한도를 넘으면 거절하고, 동기 모드는 호출 스레드에서 바로 실행해야 합니다.")
+    public void capacityAndSyncModeTest() throws Exception {
+        //given
+        InboundCommandExecutor executor = new InboundCommandExecutor(true, 1, workers);
+        InboundCommandExecutor syncExecutor = new InboundCommandExecutor(false, 1, null);
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        //when
+        executor.execute("session", 1L, () -> awaitQuietly(blocker)); // 워커가 꺼내 가면 대기 수는 0
+        Thread.sleep(100);
+        boolean accepted = executor.execute("session", 1L, () -> {});
+        boolean rejected = executor.execute("session", 1L, () -> {});
+        blocker.countDown();
+
+        Thread caller = Thread.currentThread();
+        Thread[] runner = new Thread[1];
+        syncExecutor.execute("session", 1L, () -> runner[0] = Thread.currentThread());
+
+        //then
+        assertThat(accepted).isTrue();
+        assertThat(rejected).isFalse();
+        assertThat(runner[0]).isSameAs(caller);
+    }
+
+    @Test
+    @DisplayName("세션 레인에서 방 레인으로 옮겨갈 때, 세션 레인에 남은 커맨드가 끝난 뒤에 방의 커맨드를 실행해야 합니다.")
+    public void laneSwitchOrderTest() throws Exception {
+        //given
+        InboundCommandExecutor executor = new InboundCommandExecutor(true, 10_000, workers);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        //when
+        executor.execute("session", null, () -> {
+            awaitQuietly(blocker);
+            executed.add("session");
+            done.countDown();
+        });
+        executor.execute("session", 1L, () -> {
+            executed.add("room");
+            done.countDown();
+        });
+        executor.execute("other", 1L, () -> {
+            executed.add("other");
+            otherDone.countDown();
+            done.countDown();
+        });
+        boolean otherRanWhileBlocked = otherDone.await(5, TimeUnit.SECONDS);
+        blocker.countDown();
+        done.await(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(otherRanWhileBlocked).isTrue(); // 방 레인은 막혀 있지 않음
+        assertThat(executed).containsExactly("other", "session", "room");
+    }
+
+    @Test
+    @DisplayName("처리할 커맨드가 없어진 방 레인과 세션 정보는 지워져야 합니다.")
+    public void removeIdleLaneTest() throws Exception {
+        //given
+        InboundCommandExecutor executor = new InboundCommandExecutor(true, 10_000, workers);
+        CountDownLatch done = new CountDownLatch(400);
+
+        //when
+        for (int i = 0; i < 400; i++) {
+            executor.execute("session" + (i % 8), (long) (i % 100), done::countDown);
+        }
+        done.await(5, TimeUnit.SECONDS);
+
+        //then
+        Map<?, ?> lanes = (Map<?, ?>) ReflectionTestUtils.getField(executor, "lanes");
+        Map<?, ?> sessionRoutes = (Map<?, ?>) ReflectionTestUtils.getField(executor, "sessionRoutes");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((!lanes.isEmpty() || !sessionRoutes.isEmpty()) && System.nanoTime() < deadline) {
+            Thread.sleep(10); // 마지막 커맨드가 끝난 뒤에 지운다
+        }
+        assertThat(lanes).isEmpty();
+        assertThat(sessionRoutes).isEmpty();
+        assertThat(executor.getPendingCount()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
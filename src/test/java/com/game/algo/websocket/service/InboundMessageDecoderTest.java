@@ -0,0 +1,173 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.algo.dto.request.BlockGuess;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.InboundMessage;
+import com.game.algo.websocket.dto.MessageDataRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InboundMessageDecoderTest {
+
+    private static final int ROUNDS = 100_000;
+
+    private static final String INNER = "{\"gameRoomId\":1,\"playerId\":2,\"targetPlayerId\":3,\"blockIndex\":4,\"blockNum\":5}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InboundMessageDecoder decoder = new InboundMessageDecoder(objectMapper);
+    private final Map<MessageType, Class<?>> payloadTypes = new EnumMap<>(Map.of(
+            MessageType.BlockGuess, BlockGuess.class,
+            MessageType.GameRoomFind, Integer.class));
+
+    @Test
+    @DisplayName("message 가 JSON 문자열로 감싸져 있어도, JSON 값 그대로여도 같은 payload 로 읽어야 합니다.")
+    public void legacyAndRawMessageTest() throws Exception {
+        //given
+        ByteBuffer legacy = frame("{\"type\":\"BlockGuess\",\"message\":" + objectMapper.writeValueAsString(INNER) + "}");
+        ByteBuffer raw = frame("{\"type\":\"BlockGuess\",\"message\":" + INNER + "}");
+
+        //when
+        InboundMessage legacyMessage = decoder.decode(legacy, payloadTypes::get);
+        InboundMessage rawMessage = decoder.decode(raw, payloadTypes::get);
+
+        //then
+        assertBlockGuess(legacyMessage);
+        assertBlockGuess(rawMessage);
+    }
+
+    @Test
+    @DisplayName("message 가 type 보다 먼저 와도, 숫자 문자열이어도 읽어야 하고 등록되지 않은 타입은 본문을 건너뛰어야 합니다.")
+    public void fieldOrderAndScalarTest() throws Exception {
+        //given
+        ByteBuffer reversed = frame("{\"message\":" + INNER + ",\"type\":\"BlockGuess\"}");
+        ByteBuffer scalar = frame("{\"type\":\"GameRoomFind\",\"message\":\"3\"}");
+        ByteBuffer unknownPayload = frame("{\"type\":\"GameRoomExit\",\"message\":\"\"}");
+
+        //when
+        InboundMessage reversedMessage = decoder.decode(reversed, payloadTypes::get);
+        InboundMessage scalarMessage = decoder.decode(scalar, payloadTypes::get);
+        InboundMessage unknownPayloadMessage = decoder.decode(unknownPayload, payloadTypes::get);
+
+        //then
+        assertBlockGuess(reversedMessage);
+        assertThat(scalarMessage.getPayload()).isEqualTo(3);
+        assertThat(unknownPayloadMessage.getType()).isEqualTo(MessageType.GameRoomExit);
+        assertThat(unknownPayloadMessage.getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("ByteBuffer 의 position / offset 을 지켜서 읽어야 합니다.")
+    public void slicedBufferTest() throws Exception {
+        //given
+        byte[] bytes = ("xxxx{\"type\":\"BlockGuess\",\"message\":" + INNER + "}yy").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer sliced = ByteBuffer.wrap(bytes, 4, bytes.length - 6).slice();
+
+        //when
+        InboundMessage message = decoder.decode(sliced, payloadTypes::get);
+
+        //then
+        assertBlockGuess(message);
+    }
+
+    @Test
+    @DisplayName("commandId 가 있으면 함께 읽고, 없으면 null 이어야 합니다.")
+    public void commandIdTest() throws Exception {
+        //given
+        ByteBuffer withCommandId = frame("{\"type\":\"BlockGuess\",\"commandId\":\"c-1\",\"message\":" + INNER + "}");
+        ByteBuffer withoutCommandId = frame("{\"type\":\"BlockGuess\",\"message\":" + INNER + "}");
+
+        //when
+        InboundMessage message = decoder.decode(withCommandId, payloadTypes::get);
+        InboundMessage noCommandIdMessage = decoder.decode(withoutCommandId, payloadTypes::get);
+
+        //then
+        assertBlockGuess(message);
+        assertThat(message.getCommandId()).isEqualTo("c-1");
+        assertThat(noCommandIdMessage.getCommandId()).isNull();
+    }
+
+    @Test
+    @DisplayName("스트리밍 디코딩은 기존 방식(String 복사 + 이중 파싱)과 같은 payload 를 만들어야 합니다.")
+    public void sameAsCurrentPathTest() throws Exception {
+        //given
+        ByteBuffer legacy = frame("{\"type\":\"BlockGuess\",\"message\":" + objectMapper.writeValueAsString(INNER) + "}");
+
+        //when
+        MessageDataRequest request = objectMapper.readValue(new String(legacy.array(), StandardCharsets.UTF_8), MessageDataRequest.class);
+        BlockGuess before = (BlockGuess) objectMapper.readValue(request.getMessage(), payloadTypes.get(request.getType()));
+        InboundMessage message = decoder.decode(legacy.duplicate(), payloadTypes::get);
+
+        //then
+        assertBlockGuess(message);
+        assertThat(message.getType()).isEqualTo(request.getType());
+        assertThat(message.getPayload()).usingRecursiveComparison().isEqualTo(before);
+    }
+
+    /**
+     * 시간에 대한 단정은 하지 않으므로 기본 test 에서는 제외되고 ./gradlew benchmark 로만 실행된다.
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("스트리밍 디코딩과 기존 방식(String 복사 + 이중 파싱)의 처리 시간 비교")
+    public void decodeBenchmark() throws Exception {
+        ByteBuffer legacy = frame("{\"type\":\"BlockGuess\",\"message\":" + objectMapper.writeValueAsString(INNER) + "}");
+        ByteBuffer raw = frame("{\"type\":\"BlockGuess\",\"message\":" + INNER + "}");
+
+        // 워밍업
+        runCurrentPath(legacy, ROUNDS / 10);
+        runDecoder(legacy, ROUNDS / 10);
+        runDecoder(raw, ROUNDS / 10);
+
+        //when
+        long currentNanos = runCurrentPath(legacy, ROUNDS);
+        long legacyNanos = runDecoder(legacy, ROUNDS);
+        long rawNanos = runDecoder(raw, ROUNDS);
+
+        System.out.printf("inbound decode  current: %5d ns/msg  |  streaming(legacy): %5d ns/msg  |  streaming(raw): %5d ns/msg%n",
+                currentNanos / ROUNDS, legacyNanos / ROUNDS, rawNanos / ROUNDS);
+
+        //then
+        assertBlockGuess(decoder.decode(legacy.duplicate(), payloadTypes::get));
+    }
+
+    private long runCurrentPath(ByteBuffer frame, int rounds) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            String input = new String(frame.array(), StandardCharsets.UTF_8);
+            MessageDataRequest request = objectMapper.readValue(input, MessageDataRequest.class);
+            objectMapper.readValue(request.getMessage(), payloadTypes.get(request.getType()));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runDecoder(ByteBuffer frame, int rounds) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            decoder.decode(frame.duplicate(), payloadTypes::get);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void assertBlockGuess(InboundMessage message) {
+        assertThat(message.getType()).isEqualTo(MessageType.BlockGuess);
+        BlockGuess blockGuess = (BlockGuess) message.getPayload();
+        assertThat(blockGuess.getGameRoomId()).isEqualTo(1L);
+        assertThat(blockGuess.getPlayerId()).isEqualTo(2L);
+        assertThat(blockGuess.getTargetPlayerId()).isEqualTo(3L);
+        assertThat(blockGuess.getBlockIndex()).isEqualTo(4);
+        assertThat(blockGuess.getBlockNum()).isEqualTo(5);
+    }
+
+    private ByteBuffer frame(String json) {
+        return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.game.algo.websocket.service.InboundRateLimiter.Decision.*;
+import static org.assertj.core.api.Assertions.*;
+
+class InboundRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InboundRateLimiter inboundRateLimiter = new InboundRateLimiter(true, 10, 3, 2, 2, now::get);
+
+    @BeforeEach
+    void setUp() {
+        inboundRateLimiter.register("session");
+    }
+
+    @Test
+    @DisplayName("burst 만큼은 바로 허용하고, 넘으면 토큰이 다시 생길 때까지 거절해야 합니다.")
+    public void burstThenRejectTest() {
+        //when
+        InboundRateLimiter.Decision first = inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+        InboundRateLimiter.Decision second = inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+        InboundRateLimiter.Decision third = inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500)); // command 한도 초당 2개
+        InboundRateLimiter.Decision afterRefill = inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+
+        //then
+        assertThat(first).isEqualTo(ACCEPT);
+        assertThat(second).isEqualTo(ACCEPT);
+        assertThat(third).isEqualTo(REJECT);
+        assertThat(afterRefill).isEqualTo(ACCEPT);
+        assertThat(inboundRateLimiter.getRejectedCounts()).containsEntry(MessageType.BlockGuess, 1L);
+    }
+
+    @Test
+    @DisplayName("재전송되는 타입은 한도를 넘으면 거절 대신 합쳐야(버려야) 합니다.")
+    public void coalesceTest() {
+        //when
+        inboundRateLimiter.tryAcquire("session", MessageType.NextPhase);
+        inboundRateLimiter.tryAcquire("session", MessageType.NextPhase);
+        InboundRateLimiter.Decision excess = inboundRateLimiter.tryAcquire("session", MessageType.NextPhase);
+
+        //then
+        assertThat(excess).isEqualTo(COALESCE);
+        assertThat(inboundRateLimiter.getCoalescedCounts()).containsEntry(MessageType.NextPhase, 1L);
+        assertThat(inboundRateLimiter.getRejectedCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("버킷은 세션과 MessageType 마다 따로 계산되어야 합니다.")
+    public void independentBucketTest() {
+        //given
+        inboundRateLimiter.register("other");
+        inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+        inboundRateLimiter.tryAcquire("session", MessageType.BlockGuess);
+
+        //when
+        InboundRateLimiter.Decision otherType = inboundRateLimiter.tryAcquire("session", MessageType.BlockDraw);
+        InboundRateLimiter.Decision otherSession = inboundRateLimiter.tryAcquire("other", MessageType.BlockGuess);
+        InboundRateLimiter.Decision unknownSession = inboundRateLimiter.tryAcquire("unknown", MessageType.BlockGuess);
+
+        //then
+        assertThat(otherType).isEqualTo(ACCEPT);
+        assertThat(otherSession).isEqualTo(ACCEPT);
+        assertThat(unknownSession).isEqualTo(ACCEPT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.dto.MessageDataResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("legacy 프레임은 message 를 문자열로 감싸던 이전 방식과 같은 바이트여야 합니다.")
+    public void legacyFrameSameAsBefore() throws Exception {
+        //given
+        MessageFrameEncoder encoder = new MessageFrameEncoder(objectMapper);
+        Map<String, Object> message = Map.of("id", 1, "blockCodeList", List.of(-14, 3, 12));
+
+        String before = objectMapper.writeValueAsString(MessageDataResponse.create(MessageType.GameStatusData,
+                objectMapper.writeValueAsString(message)));
+
+        //when
+        byte[] frame = encoder.encodeLegacy(MessageType.GameStatusData, message);
+
+        //then
+        assertThat(new String(frame, StandardCharsets.UTF_8)).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("legacy 가 아니면 message 는 JSON 값 그대로 들어가야 합니다.")
+    public void rawJsonFrame() throws Exception {
+        //given
+        MessageFrameEncoder encoder = new MessageFrameEncoder(objectMapper);
+
+        //when
+        byte[] frame = encoder.encode(MessageType.WaitForSec, 30);
+        JsonNode jsonNode = objectMapper.readTree(frame);
+
+        //then
+        assertThat(jsonNode.get("type").asText()).isEqualTo(MessageType.WaitForSec.name());
+        assertThat(jsonNode.get("message").isInt()).isTrue();
+        assertThat(jsonNode.get("message").asInt()).isEqualTo(30);
+    }
+}
@@ -0,0 +1,190 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.MessageFrame;
+import com.game.algo.websocket.data.OverflowPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboundSessionQueueTest {
+
+    private final ManualExecutor executor = new ManualExecutor();
+
+    @Test
+    @DisplayName("send 는 전송을 기다리지 않고, 송신 스레드에서 넣은 순서대로 보내야 합니다.")
+    public void sendInOrderTest() throws Exception {
+        //given
+        WebSocketSession session = openSession();
+        OutboundSessionQueue queue = createQueue(session, 10, OverflowPolicy.CLOSE);
+
+        //when
+        queue.send(frame("a"), false);
+        queue.send(frame("b"), false);
+        int depthBeforeDrain = queue.getQueueDepth();
+        executor.runAll();
+
+        //then
+        assertThat(depthBeforeDrain).isEqualTo(2);
+        assertThat(queue.getQueueDepth()).isZero();
+        assertThat(queue.getBufferedBytes()).isZero();
+        assertThat(sentPayloads(session, 2)).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("DROP_STALE 은 큐가 넘치면 오래된 상태 프레임부터 버리고 나머지는 보내야 합니다.")
+    public void dropStaleTest() throws Exception {
+        //given
+        WebSocketSession session = openSession();
+        OutboundSessionQueue queue = createQueue(session, 2, OverflowPolicy.DROP_STALE);
+
+        //when
+        queue.send(frame("status1"), true);
+        queue.send(frame("owner"), false);
+        queue.send(frame("status2"), true);
+        executor.runAll();
+
+        //then
+        assertThat(queue.isClosed()).isFalse();
+        assertThat(sentPayloads(session, 2)).containsExactly("owner", "status2");
+        verify(session, never()).close(any());
+    }
+
+    @Test
+    @DisplayName("DROP_STALE 이라도 버릴 상태 프레임이 없으면 세션을 닫아야 합니다.")
+    public void dropStaleWithoutStaleFrameTest() throws Exception {
+        //given
+        WebSocketSession session = openSession();
+        OutboundSessionQueue queue = createQueue(session, 1, OverflowPolicy.DROP_STALE);
+
+        //when
+        queue.send(frame("owner1"), false);
+        queue.send(frame("owner2"), false);
+        executor.runAll();
+
+        //then
+        assertThat(queue.isClosed()).isTrue();
+        assertThat(queue.getQueueDepth()).isZero();
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("CLOSE 는 큐가 넘치면 바로 세션을 닫고 이후 프레임은 무시해야 합니다.")
+    public void closeOnOverflowTest() throws Exception {
+        //given
+        WebSocketSession session = openSession();
+        OutboundSessionQueue queue = createQueue(session, 1, OverflowPolicy.CLOSE);
+
+        //when
+        queue.send(frame("status1"), true);
+        queue.send(frame("status2"), true);
+        queue.send(frame("status3"), true);
+        executor.runAll();
+
+        //then
+        assertThat(queue.isClosed()).isTrue();
+        assertThat(queue.getQueueDepth()).isZero();
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("전송이 막힌 채로 send-time-limit 이 지나면 다음 send 를 기다리지 않고 세션을 닫아야 합니다.")
+    public void sendTimeLimitWatchdogTest() throws Exception {
+        //given
+        WebSocketSession session = openSession();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            unblock.await();
+            return null;
+        }).when(session).sendMessage(any());
+        doAnswer(invocation -> {
+            unblock.countDown(); // 세션이 닫히면 막힌 write 가 풀린다
+            return null;
+        }).when(session).close(any());
+
+        ExecutorService sender = Executors.newSingleThreadExecutor();
+        OutboundSessionQueue queue = new OutboundSessionQueueFactory(sender, 10, Long.MAX_VALUE, 5000, OverflowPolicy.CLOSE)
+                .create(session);
+
+        try {
+            queue.send(frame("a"), false);
+            queue.send(frame("b"), false);
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            //when
+            boolean beforeLimit = queue.checkSendTimeLimit(System.nanoTime());
+            boolean afterLimit = queue.checkSendTimeLimit(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5001));
+
+            //then
+            assertThat(beforeLimit).isFalse();
+            assertThat(afterLimit).isTrue();
+            assertThat(queue.isClosed()).isTrue();
+            assertThat(queue.getQueueDepth()).isZero();
+            verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            unblock.countDown();
+            sender.shutdownNow();
+        }
+    }
+
+
+    private OutboundSessionQueue createQueue(WebSocketSession session, int capacity, OverflowPolicy overflowPolicy) {
+        return new OutboundSessionQueueFactory(executor, capacity, Long.MAX_VALUE, 5000, overflowPolicy).create(session);
+    }
+
+    private WebSocketSession openSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getId()).thenReturn("session");
+        return session;
+    }
+
+    private MessageFrame frame(String payload) {
+        return MessageFrame.wrap(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> sentPayloads(WebSocketSession session, int count) throws Exception {
+        ArgumentCaptor<BinaryMessage> captor = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session, times(count)).sendMessage(captor.capture());
+
+        return captor.getAllValues().stream()
+                .map(message -> StandardCharsets.UTF_8.decode(message.getPayload()).toString())
+                .toList();
+    }
+
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        private void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.MessageFrame;
+import com.game.algo.websocket.data.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionHeartbeatSweeperTest {
+
+    private static final long PING_INTERVAL_MILLIS = 1000;
+    private static final long IDLE_TIMEOUT_MILLIS = 3000;
+
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
+    private final MessageFrame pingFrame = MessageFrame.wrap("ping".getBytes(StandardCharsets.UTF_8));
+    private final SessionHeartbeatSweeper sweeper =
+            new SessionHeartbeatSweeper(sessionRegistry, pingFrame, PING_INTERVAL_MILLIS, IDLE_TIMEOUT_MILLIS, 2);
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    @DisplayName("ping 간격이 지난 세션에는 ping 을 한번만 보내고, 받은 프레임이 있으면 보내지 않아야 합니다.")
+    public void pingIdleSessionTest() throws Exception {
+        //given
+        WebSocketSession idleSession = register("idle");
+        WebSocketSession activeSession = register("active");
+        long now = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PING_INTERVAL_MILLIS + 500);
+        setLastReceived("active", now);
+
+        //when
+        sweeper.sweep(now);
+        sweeper.sweep(now); // 같은 간격 안에서는 다시 보내지 않음
+
+        //then
+        verify(idleSession, times(1)).sendMessage(any(BinaryMessage.class));
+        verify(activeSession, never()).sendMessage(any());
+        assertThat(sweeper.getAliveCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("idle timeout 이 지난 세션은 닫고, 한 바퀴가 끝나면 살아있는 / 닫은 세션 수를 갱신해야 합니다.")
+    public void evictIdleSessionTest() throws Exception {
+        //given
+        WebSocketSession first = register("first");
+        WebSocketSession second = register("second");
+        WebSocketSession third = register("third");
+        long now = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MILLIS + 500);
+        setLastReceived("second", now);
+
+        //when
+        sweeper.sweep(now); // batch-size 2
+        int aliveAfterFirstBatch = sweeper.getAliveCount();
+        sweeper.sweep(now);
+
+        //then
+        assertThat(aliveAfterFirstBatch).isZero();
+        assertThat(sweeper.getEvictedCount()).isEqualTo(2L);
+        assertThat(sweeper.getAliveCount()).isEqualTo(1);
+        verify(first).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(second, never()).close(any());
+        verify(third).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    @DisplayName("전송이 send-time-limit 보다 오래 막혀 있는 세션은 새 프레임이 없어도 닫아야 합니다.")
+    public void evictStalledSendTest() throws Exception {
+        //given
+        WebSocketSession stalled = register("stalled");
+        WebSocketSession sending = register("sending");
+        long now = System.nanoTime();
+        setLastReceived("stalled", now);
+        setLastReceived("sending", now);
+        ReflectionTestUtils.setField(sessionRegistry.findClient("stalled"), "sendStartTime", now - TimeUnit.MILLISECONDS.toNanos(1500));
+        ReflectionTestUtils.setField(sessionRegistry.findClient("sending"), "sendStartTime", now - TimeUnit.MILLISECONDS.toNanos(500));
+
+        //when
+        sweeper.sweep(now);
+
+        //then
+        assertThat(sweeper.getEvictedCount()).isEqualTo(1L);
+        assertThat(sessionRegistry.findClient("stalled").isClosed()).isTrue();
+        verify(stalled).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(sending, never()).close(any());
+    }
+
+    private WebSocketSession register(String sessionId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        when(session.isOpen()).thenReturn(true);
+        sessionRegistry.register(sessionId,
+                new OutboundSessionQueue(session, Runnable::run, 10, 1024, 1000, OverflowPolicy.CLOSE));
+        return session;
+    }
+
+    private void setLastReceived(String sessionId, long nanos) {
+        ReflectionTestUtils.setField(sessionRegistry.findClient(sessionId), "lastReceivedNanos", nanos);
+    }
+}
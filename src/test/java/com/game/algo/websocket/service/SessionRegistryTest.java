@@ -0,0 +1,101 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.websocket.data.OverflowPolicy;
+import com.game.algo.websocket.data.SessionMember;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SessionRegistryTest {
+
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
+
+    @Test
+    @DisplayName("방에 참여하면 세션 -> 방, 방 -> 세션 인덱스가 함께 갱신되어야 합니다.")
+    public void joinRoomTest() {
+        //given
+        register("session1");
+        register("session2");
+        sessionRegistry.bindPlayer("session1", 1L, null);
+        sessionRegistry.bindPlayer("session2", 2L, null);
+
+        //when
+        sessionRegistry.joinRoom("session1", 10L);
+        sessionRegistry.joinRoom("session2", 10L);
+
+        //then
+        SessionMember member = sessionRegistry.findMember("session1").orElseThrow();
+        assertThat(member.getPlayerId()).isEqualTo(1L);
+        assertThat(member.getGameRoomId()).isEqualTo(10L);
+        assertThat(sessionRegistry.getRoomSessionIds(10L)).containsExactlyInAnyOrder("session1", "session2");
+    }
+
+    @Test
+    @DisplayName("다른 방에 참여하면 이전 방의 세션 목록에서 빠져야 합니다.")
+    public void moveRoomTest() {
+        //given
+        register("session1");
+        sessionRegistry.bindPlayer("session1", 1L, 10L);
+
+        //when
+        sessionRegistry.joinRoom("session1", 20L);
+
+        //then
+        assertThat(sessionRegistry.getRoomSessionIds(10L)).isEmpty();
+        assertThat(sessionRegistry.getRoomSessionIds(20L)).containsExactly("session1");
+    }
+
+    @Test
+    @DisplayName("방을 나가면 플레이어 정보는 남고 방 정보만 지워져야 합니다.")
+    public void leaveRoomTest() {
+        //given
+        register("session1");
+        sessionRegistry.bindPlayer("session1", 1L, 10L);
+
+        //when
+        sessionRegistry.leaveRoom("session1");
+
+        //then
+        SessionMember member = sessionRegistry.findMember("session1").orElseThrow();
+        assertThat(member.getPlayerId()).isEqualTo(1L);
+        assertThat(member.getGameRoomId()).isNull();
+        assertThat(sessionRegistry.getRoomSessionIds(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 송신 큐와 두 인덱스에서 모두 지워져야 합니다.")
+    public void unregisterTest() {
+        //given
+        OutboundSessionQueue client = register("session1");
+        sessionRegistry.bindPlayer("session1", 1L, 10L);
+
+        //when
+        OutboundSessionQueue removed = sessionRegistry.unregister("session1");
+
+        //then
+        assertThat(removed).isSameAs(client);
+        assertThat(sessionRegistry.findClient("session1")).isNull();
+        assertThat(sessionRegistry.findMember("session1")).isEmpty();
+        assertThat(sessionRegistry.getRoomSessionIds(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("연결되지 않은 세션은 인덱스에 올라가지 않아야 합니다.")
+    public void bindUnknownSessionTest() {
+        //when
+        sessionRegistry.bindPlayer("unknown", 1L, 10L);
+
+        //then
+        assertThat(sessionRegistry.findMember("unknown")).isEmpty();
+        assertThat(sessionRegistry.getRoomSessionIds(10L)).isEmpty();
+    }
+
+    private OutboundSessionQueue register(String sessionId) {
+        OutboundSessionQueue client = new OutboundSessionQueue(mock(WebSocketSession.class), Runnable::run, 10, 1024, 1000, OverflowPolicy.CLOSE);
+        sessionRegistry.register(sessionId, client);
+        return client;
+    }
+}
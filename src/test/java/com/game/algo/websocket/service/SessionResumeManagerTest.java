@@ -0,0 +1,92 @@
+package com.game.algo.websocket.service;
+
+import com.game.algo.algo.service.GamePhaseTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SessionResumeManagerTest {
+
+    private final GamePhaseTimer gamePhaseTimer = new GamePhaseTimer();
+
+    @AfterEach
+    void tearDown() {
+        gamePhaseTimer.stop();
+    }
+
+    @Test
+    @DisplayName("유예 시간 안에 토큰으로 재접속하면 같은 Player 로 이어지고 만료 작업은 실행되지 않아야 합니다.")
+    public void resumeInGraceTest() throws Exception {
+        //given
+        SessionResumeManager sessionResumeManager = new SessionResumeManager(gamePhaseTimer, 300);
+        String token = sessionResumeManager.issue("oldSession", 1L);
+        AtomicInteger expireCount = new AtomicInteger();
+
+        //when
+        boolean suspended = sessionResumeManager.suspend("oldSession", expireCount::incrementAndGet);
+        Long playerId = sessionResumeManager.resume(token, "newSession").orElseThrow();
+        Thread.sleep(600);
+
+        //then
+        assertThat(suspended).isTrue();
+        assertThat(playerId).isEqualTo(1L);
+        assertThat(expireCount.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("유예 시간이 지나면 만료 작업이 실행되고 토큰은 더 이상 사용할 수 없어야 합니다.")
+    public void expireAfterGraceTest() throws Exception {
+        //given
+        SessionResumeManager sessionResumeManager = new SessionResumeManager(gamePhaseTimer, 100);
+        String token = sessionResumeManager.issue("oldSession", 1L);
+        CountDownLatch expired = new CountDownLatch(1);
+
+        //when
+        sessionResumeManager.suspend("oldSession", expired::countDown);
+
+        //then
+        assertThat(expired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(sessionResumeManager.resume(token, "newSession")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이전 세션이 끊기기 전에 재접속하면 새 세션이 토큰을 가져가고, 이전 세션은 바로 disconnect 되어야 합니다.")
+    public void takeOverTest() {
+        //given
+        SessionResumeManager sessionResumeManager = new SessionResumeManager(gamePhaseTimer, 30000);
+        String token = sessionResumeManager.issue("oldSession", 1L);
+
+        //when
+        Long playerId = sessionResumeManager.resume(token, "newSession").orElseThrow();
+        boolean oldSuspended = sessionResumeManager.suspend("oldSession", () -> {});
+        boolean newSuspended = sessionResumeManager.suspend("newSession", () -> {});
+
+        //then
+        assertThat(playerId).isEqualTo(1L);
+        assertThat(oldSuspended).isFalse();
+        assertThat(newSuspended).isTrue();
+    }
+
+    @Test
+    @DisplayName("토큰이 없는 세션이나 유예 시간이 0 이면 기다리지 않아야 합니다.")
+    public void noGraceTest() {
+        //given
+        SessionResumeManager disabled = new SessionResumeManager(gamePhaseTimer, 0);
+        String token = disabled.issue("session", 1L);
+
+        //when
+        boolean unknownSuspended = disabled.suspend("unknown", () -> {});
+        boolean disabledSuspended = disabled.suspend("session", () -> {});
+
+        //then
+        assertThat(unknownSuspended).isFalse();
+        assertThat(disabledSuspended).isFalse();
+        assertThat(disabled.resume(token, "newSession")).isEmpty();
+    }
+}
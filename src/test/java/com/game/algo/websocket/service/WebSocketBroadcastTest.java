@@ -0,0 +1,136 @@
+package com.game.algo.websocket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.algo.websocket.data.MessageType;
+import com.game.algo.websocket.data.OverflowPolicy;
+import com.game.algo.websocket.dto.MessageDataResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 세션마다 sendMessage 를 부르면 직렬화가 인원수만큼 늘어나지만, broadcast 는 인원수와 상관없이 한번이다.
+ */
+class WebSocketBroadcastTest {
+
+    private final CountingEncoder encoder = new CountingEncoder(new ObjectMapper());
+    private final OutboundSessionQueueFactory queueFactory =
+            new OutboundSessionQueueFactory(Runnable::run, Integer.MAX_VALUE, Long.MAX_VALUE, 5000, OverflowPolicy.CLOSE);
+    private final WebSocketService webSocketService = new WebSocketService(encoder, new BinaryMessageEncoder(), new FrameCompressor(512, 1), queueFactory, new SessionRegistry());
+    private final List<String> registeredSessionIds = new ArrayList<>();
+
+    @AfterEach
+    void removeClients() {
+        registeredSessionIds.forEach(webSocketService::removeClient);
+    }
+
+    @Test
+    @DisplayName("broadcast 의 직렬화 횟수는 방 인원수와 상관없이 메세지당 한번이어야 합니다.")
+    public void serializationIndependentOfRoomSize() throws Exception {
+        MessageDataResponse messageData = MessageDataResponse.create(MessageType.GameStatusData, samplePayload());
+
+        for (int roomSize : new int[]{1, 4, 64}) {
+            List<String> sessionIds = registerSessions(roomSize);
+
+            //when
+            encoder.count.set(0);
+            for (String sessionId : sessionIds) {
+                webSocketService.sendMessage(sessionId, messageData);
+            }
+            int perSessionEncodes = encoder.count.getAndSet(0);
+
+            webSocketService.broadcast(sessionIds, messageData);
+            int broadcastEncodes = encoder.count.get();
+
+            //then
+            assertThat(perSessionEncodes).isEqualTo(roomSize);
+            assertThat(broadcastEncodes).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("broadcast 는 방의 모든 세션에 같은 프레임을 보내야 합니다.")
+    public void broadcastToAllSessions() throws Exception {
+        //given
+        List<WebSocketSession> sessions = new ArrayList<>();
+        List<String> sessionIds = IntStream.range(0, 4)
+                .mapToObj(i -> {
+                    WebSocketSession session = mock(WebSocketSession.class);
+                    when(session.isOpen()).thenReturn(true);
+                    sessions.add(session);
+                    webSocketService.addClient("session-" + i, session);
+                    registeredSessionIds.add("session-" + i);
+                    return "session-" + i;
+                })
+                .toList();
+
+        //when
+        webSocketService.broadcast(sessionIds, MessageDataResponse.create(MessageType.GameStatusData, samplePayload()));
+
+        //then
+        for (WebSocketSession session : sessions) {
+            verify(session).sendMessage(any(BinaryMessage.class));
+        }
+    }
+
+    private List<String> registerSessions(int count) {
+        removeClients();
+        registeredSessionIds.clear();
+
+        IntStream.range(0, count).forEach(i -> {
+            String sessionId = "room-" + i;
+            webSocketService.addClient(sessionId, mock(WebSocketSession.class));
+            registeredSessionIds.add(sessionId);
+        });
+        return new ArrayList<>(registeredSessionIds);
+    }
+
+    private Map<String, Object> samplePayload() {
+        List<Map<String, Object>> playerDataList = IntStream.range(0, 4)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "id", i,
+                        "name", "player" + i,
+                        "orderNumber", i,
+                        "blockCodeList", List.of(-14, 1, -13, 13, 5, 12, -7),
+                        "drawBlockIndexNum", 3,
+                        "ready", false,
+                        "retire", false))
+                .toList();
+
+        return Map.of(
+                "id", 1,
+                "phase", "GUESS",
+                "playerDataList", playerDataList,
+                "progressPlayerNumber", 2,
+                "whiteBlockCount", 5,
+                "blackBlockCount", 6);
+    }
+
+    private static class CountingEncoder extends MessageFrameEncoder {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingEncoder(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        public byte[] encode(MessageType type, Object message) throws IOException {
+            count.incrementAndGet();
+            return super.encode(type, message);
+        }
+    }
+}